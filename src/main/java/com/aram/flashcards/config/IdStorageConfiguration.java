@@ -0,0 +1,22 @@
+package com.aram.flashcards.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.aram.flashcards.config.IdTypeContributor.ID_STORAGE;
+
+@Configuration
+public class IdStorageConfiguration {
+
+    public enum IdStorage {
+        STRING, BINARY
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer idStorageCustomizer(@Value("${flashcards.id.storage:string}") IdStorage storage) {
+        return properties -> properties.put(ID_STORAGE, storage.name());
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.aram.flashcards.config;
+
+import com.aram.flashcards.config.IdStorageConfiguration.IdStorage;
+import org.hibernate.boot.model.TypeContributions;
+import org.hibernate.boot.model.TypeContributor;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.descriptor.jdbc.BinaryJdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.VarcharJdbcType;
+
+import static com.aram.flashcards.model.IdJavaType.ID_JDBC_TYPE_CODE;
+
+public class IdTypeContributor implements TypeContributor {
+
+    static final String ID_STORAGE = "flashcards.id.storage";
+
+    @Override
+    public void contribute(TypeContributions contributions, ServiceRegistry serviceRegistry) {
+        IdStorage storage = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ID_STORAGE, value -> IdStorage.valueOf(value.toString()), IdStorage.STRING);
+        contributions.getTypeConfiguration()
+                .getJdbcTypeRegistry()
+                .addDescriptor(ID_JDBC_TYPE_CODE, jdbcTypeFor(storage));
+    }
+
+    private JdbcType jdbcTypeFor(IdStorage storage) {
+        return storage == IdStorage.BINARY ? BinaryJdbcType.INSTANCE : VarcharJdbcType.INSTANCE;
+    }
+
+}
@@ -3,7 +3,11 @@ package com.aram.flashcards.controller;
 import com.aram.flashcards.controller.error.ErrorResponse;
 import com.aram.flashcards.model.Category;
 import com.aram.flashcards.service.CategoryService;
+import com.aram.flashcards.service.CategoryTreeService;
+import com.aram.flashcards.service.VersionService;
 import com.aram.flashcards.service.dto.CategoryRequest;
+import com.aram.flashcards.service.dto.CategoryTree;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,18 +19,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import static org.springframework.http.ResponseEntity.ok;
+import java.util.List;
 
+import static com.aram.flashcards.service.Aggregate.CATEGORIES;
+import static com.aram.flashcards.service.Aggregate.FLASHCARDS;
+import static com.aram.flashcards.service.Aggregate.STUDY_SESSIONS;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @RestController
 @Tag(name = "Category")
 @RequestMapping("/api/v1/categories")
 public class CategoryController implements ResponseHandler {
 
     private final CategoryService categoryService;
+    private final CategoryTreeService categoryTreeService;
+    private final VersionService versionService;
+    private final SharedJsonBodies sharedBodies;
 
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService,
+                              CategoryTreeService categoryTreeService,
+                              VersionService versionService,
+                              ObjectMapper objectMapper) {
         this.categoryService = categoryService;
+        this.categoryTreeService = categoryTreeService;
+        this.versionService = versionService;
+        this.sharedBodies = new SharedJsonBodies(objectMapper);
     }
 
     @Operation(summary = "GET all categories")
@@ -40,9 +59,10 @@ public class CategoryController implements ResponseHandler {
                 )
             }
     )
+    @ApiResponse(responseCode = "304", description = "The category list has not changed since the ETag in If-None-Match")
     @GetMapping
-    ResponseEntity<Iterable<Category>> findAll() {
-        return ok(categoryService.findAll());
+    ResponseEntity<Iterable<Category>> findAll(@RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, versionService.versionOf(CATEGORIES), categoryService::findAll);
     }
 
     @Operation(summary = "GET a category by its id")
@@ -66,9 +86,45 @@ public class CategoryController implements ResponseHandler {
                 )
             }
     )
+    @ApiResponse(responseCode = "304", description = "The category has not changed since the ETag in If-None-Match")
     @GetMapping("/{id}")
-    public ResponseEntity<Category> findById(@PathVariable String id) {
-        return ok(categoryService.findById(id));
+    public ResponseEntity<Category> findById(@PathVariable String id,
+                                             @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return versioned(ifNoneMatch, categoryService.findById(id), Category::getVersion);
+    }
+
+    @Operation(
+            summary = "GET a category with its study sessions and their flashcards",
+            description = "Assembles the whole tree in one response with a fixed number of set-based queries, " +
+                    "no matter how many study sessions and flashcards the category holds."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Found the category tree",
+            content = {
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CategoryTree.class)
+                )
+            }
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "The category does not exist",
+            content = {
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)
+                )
+            }
+    )
+    @ApiResponse(responseCode = "304", description = "The category tree has not changed since the ETag in If-None-Match")
+    @GetMapping(value = "/{id}/tree", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> findTreeById(@PathVariable String id,
+                                               @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String version = versionService.versionOf(CATEGORIES, STUDY_SESSIONS, FLASHCARDS);
+        return conditional(ifNoneMatch, version, () -> sharedBodies.body(id + "@" + version,
+                () -> categoryTreeService.findTreeById(id)));
     }
 
     @Operation(summary = "GET a category by its name")
@@ -91,9 +147,41 @@ public class CategoryController implements ResponseHandler {
                     )
                  }
     )
+    @ApiResponse(responseCode = "304", description = "The category has not changed since the ETag in If-None-Match")
     @GetMapping("/details")
-    public ResponseEntity<Category> findByName(@RequestParam String name) {
-        return ok(categoryService.findByName(name));
+    public ResponseEntity<Category> findByName(@RequestParam String name,
+                                               @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, versionService.versionOf(CATEGORIES), () -> categoryService.findByName(name));
+    }
+
+    @Operation(summary = "GET categories whose names start with a prefix, in name order")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Found the matching categories",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = Category.class))
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Limit is not positive",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(responseCode = "304", description = "The matching categories has not changed since the ETag in If-None-Match")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<Category>> autocomplete(@RequestParam String prefix,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, versionService.versionOf(CATEGORIES),
+                () -> categoryService.autocomplete(prefix, limit));
     }
 
     @Operation(summary = "POST a category")
@@ -132,7 +220,12 @@ public class CategoryController implements ResponseHandler {
         return created(categoryService.createCategory(request));
     }
 
-    @Operation(summary = "PUT a category")
+    @Operation(
+            summary = "PUT a category",
+            description = "With a version in the body or a quoted version in If-Match, the update only applies " +
+                    "if the stored category is still at that version. The ETag of GET by id is that quoted version. " +
+                    "If-Match: * only updates an existing category. Without either the category is overwritten."
+    )
     @ApiResponse(
             responseCode = "200",
             description = "The category was updated successfully",
@@ -164,7 +257,18 @@ public class CategoryController implements ResponseHandler {
     )
     @ApiResponse(
             responseCode = "409",
-            description = "Category with specified name already exists",
+            description = "Category with specified name already exists, or the category is not at the version " +
+                    "given in the body or If-Match",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "412",
+            description = "If-Match is * and the category does not exist, or If-Match is not an entity version",
             content = {
                     @Content(
                             mediaType = "application/json",
@@ -173,8 +277,10 @@ public class CategoryController implements ResponseHandler {
             }
     )
     @PutMapping
-    public ResponseEntity<Category> update(@Valid @RequestBody Category category) {
-        return existsById(category.getId()) ? ok(save(category)) : created(save(category));
+    public ResponseEntity<Category> update(@Valid @RequestBody Category category,
+                                           @RequestHeader(value = IF_MATCH, required = false) String ifMatch) {
+        return upserted(categoryService.upsert(category.withVersion(versionFrom(ifMatch, category.getVersion(),
+                () -> categoryService.existsById(category.getId())))));
     }
 
     @Operation(summary = "DELETE a category by its id")
@@ -202,12 +308,4 @@ public class CategoryController implements ResponseHandler {
         return ResponseEntity.noContent().build();
     }
 
-    private boolean existsById(String id) {
-        return categoryService.existsById(id);
-    }
-
-    private Category save(Category category) {
-        return categoryService.save(category);
-    }
-
 }
\ No newline at end of file
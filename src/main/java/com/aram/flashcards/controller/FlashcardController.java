@@ -1,9 +1,19 @@
 package com.aram.flashcards.controller;
 
 import com.aram.flashcards.controller.error.ErrorResponse;
+import com.aram.flashcards.controller.error.NearDuplicateErrorResponse;
 import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.service.dto.DuplicatePolicy;
+import com.aram.flashcards.service.dto.FlashcardBatchItem;
+import com.aram.flashcards.service.dto.FlashcardBatchRequest;
+import com.aram.flashcards.service.dto.FlashcardCreateResult;
+import com.aram.flashcards.service.dto.FlashcardPage;
 import com.aram.flashcards.service.dto.FlashcardRequest;
+import com.aram.flashcards.service.dto.FlashcardSearchHit;
 import com.aram.flashcards.service.FlashcardService;
+import com.aram.flashcards.service.StudySessionService;
+import com.aram.flashcards.service.VersionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,7 +24,23 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.aram.flashcards.service.Aggregate.FLASHCARDS;
+import static com.aram.flashcards.service.Aggregate.STUDY_SESSIONS;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.ResponseEntity.ok;
 
 @RestController
@@ -22,11 +48,24 @@ import static org.springframework.http.ResponseEntity.ok;
 @RequestMapping("/api/v1/flashcards")
 public class FlashcardController implements ResponseHandler {
 
+    static final String NEAR_DUPLICATE_HEADER = "X-Near-Duplicate-Of";
+
     private final FlashcardService flashcardService;
+    private final StudySessionService studySessionService;
+    private final ObjectMapper objectMapper;
+    private final VersionService versionService;
+    private final SharedJsonBodies sharedBodies;
 
     @Autowired
-    public FlashcardController(FlashcardService flashcardService) {
+    public FlashcardController(FlashcardService flashcardService,
+                               StudySessionService studySessionService,
+                               ObjectMapper objectMapper,
+                               VersionService versionService) {
         this.flashcardService = flashcardService;
+        this.studySessionService = studySessionService;
+        this.objectMapper = objectMapper;
+        this.versionService = versionService;
+        this.sharedBodies = new SharedJsonBodies(objectMapper);
     }
 
     @Operation(summary = "GET all flashcards")
@@ -40,9 +79,111 @@ public class FlashcardController implements ResponseHandler {
                 )
             }
     )
+    @ApiResponse(responseCode = "304", description = "The flashcard list has not changed since the ETag in If-None-Match")
     @GetMapping
-    public ResponseEntity<Iterable<Flashcard>> findAll() {
-        return ok(flashcardService.findAll());
+    public ResponseEntity<Iterable<Flashcard>> findAll(@RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, versionService.versionOf(FLASHCARDS), flashcardService::findAll);
+    }
+
+    @Operation(summary = "GET a page of flashcards ordered by id")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Found the page of flashcards",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = FlashcardPage.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "The cursor or page size is invalid",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(responseCode = "304", description = "The page has not changed since the ETag in If-None-Match")
+    @GetMapping("/page")
+    public ResponseEntity<FlashcardPage> findPage(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size,
+                                                  @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, versionService.versionOf(FLASHCARDS),
+                () -> flashcardService.findPage(cursor, size));
+    }
+
+    @Operation(summary = "GET flashcards matching a full-text query on question and answer, best match first")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Found the matching flashcards",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = FlashcardSearchHit.class))
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "The query is blank or the limit is invalid",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "The study session with the specified id does not exist",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(responseCode = "304", description = "The search result has not changed since the ETag in If-None-Match")
+    @GetMapping("/search")
+    public ResponseEntity<List<FlashcardSearchHit>> search(@RequestParam String q,
+                                                           @RequestParam(required = false) String studySessionId,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, versionService.versionOf(STUDY_SESSIONS, FLASHCARDS),
+                () -> flashcardService.search(q, studySessionId, limit));
+    }
+
+    @Operation(summary = "GET all flashcards as newline-delimited JSON, optionally by study session id")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Streaming the flashcards",
+            content = {
+                    @Content(
+                            mediaType = APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = Flashcard.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "The study session with the specified id does not exist",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String studySessionId) {
+        if (studySessionId == null) {
+            return ndjson(out -> flashcardService.exportAll(writerTo(out)));
+        }
+        studySessionService.assertExistsById(studySessionId);
+        return ndjson(out -> flashcardService.exportAllByStudySessionId(studySessionId, writerTo(out)));
     }
 
     @Operation(summary = "GET a flashcard by id")
@@ -66,9 +207,11 @@ public class FlashcardController implements ResponseHandler {
                     )
             }
     )
+    @ApiResponse(responseCode = "304", description = "The flashcard has not changed since the ETag in If-None-Match")
     @GetMapping("/{id}")
-    public ResponseEntity<Flashcard> findById(@PathVariable String id) {
-        return ok(flashcardService.findById(id));
+    public ResponseEntity<Flashcard> findById(@PathVariable String id,
+                                              @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return versioned(ifNoneMatch, flashcardService.findById(id), Flashcard::getVersion);
     }
 
     @Operation(summary = "GET all flashcards by study session id")
@@ -92,12 +235,21 @@ public class FlashcardController implements ResponseHandler {
                     )
             }
     )
-    @GetMapping("/details")
-    public ResponseEntity<Iterable<Flashcard>> findAllByStudySessionId(@RequestParam String studySessionId) {
-        return ok(flashcardService.findAllByStudySessionId(studySessionId));
+    @ApiResponse(responseCode = "304", description = "The flashcards of the study session has not changed since the ETag in If-None-Match")
+    @GetMapping(value = "/details", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> findAllByStudySessionId(@RequestParam String studySessionId,
+                                                          @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String version = versionService.versionOf(STUDY_SESSIONS, FLASHCARDS);
+        return conditional(ifNoneMatch, version, () -> sharedBodies.body(studySessionId + "@" + version,
+                () -> flashcardService.findAllByStudySessionId(studySessionId)));
     }
 
-    @Operation(summary = "POST a flashcard")
+    @Operation(
+            summary = "POST a flashcard",
+            description = "With duplicates=WARN or duplicates=REJECT the question is compared against the " +
+                    "study session's flashcards by MinHash similarity. WARN creates the flashcard and names the " +
+                    "closest near duplicate in the " + NEAR_DUPLICATE_HEADER + " header; REJECT answers 409 instead."
+    )
     @ApiResponse(
             responseCode = "201",
             description = "Flashcard was created successfully",
@@ -128,12 +280,60 @@ public class FlashcardController implements ResponseHandler {
                     )
             }
     )
+    @ApiResponse(
+            responseCode = "409",
+            description = "The question is a near duplicate of an existing flashcard in the study session",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NearDuplicateErrorResponse.class)
+                    )
+            }
+    )
     @PostMapping
-    public ResponseEntity<Flashcard> createFlashcard(@Valid @RequestBody FlashcardRequest request) {
-        return created(flashcardService.createFlashcard(request));
+    public ResponseEntity<Flashcard> createFlashcard(@Valid @RequestBody FlashcardRequest request,
+                                                     @RequestParam(defaultValue = "IGNORE") DuplicatePolicy duplicates) {
+        FlashcardCreateResult result = flashcardService.createFlashcard(request, duplicates);
+        if (result.getNearDuplicateId() == null) {
+            return created(result.getFlashcard());
+        }
+        return ResponseEntity.status(CREATED)
+                .header(NEAR_DUPLICATE_HEADER, result.getNearDuplicateId())
+                .body(result.getFlashcard());
+    }
+
+    @Operation(summary = "POST a batch of flashcards")
+    @ApiResponse(
+            responseCode = "200",
+            description = "The batch was processed, with one result per flashcard in request order",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = FlashcardBatchItem.class))
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "The request body contains invalid data",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<List<FlashcardBatchItem>> createFlashcards(@Valid @RequestBody FlashcardBatchRequest request) {
+        return ok(flashcardService.createFlashcards(request.getFlashcards()));
     }
 
-    @Operation(summary = "PUT a flashcard")
+    @Operation(
+            summary = "PUT a flashcard",
+            description = "With a version in the body or a quoted version in If-Match, the update only applies " +
+                    "if the stored flashcard is still at that version. The ETag of GET by id is that quoted version. " +
+                    "If-Match: * only updates an existing flashcard. Without either the flashcard is overwritten."
+    )
     @ApiResponse(
             responseCode = "200",
             description = "Flashcard updated successfully",
@@ -174,9 +374,31 @@ public class FlashcardController implements ResponseHandler {
                     )
             }
     )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Flashcard is not at the version given in the body or If-Match",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "412",
+            description = "If-Match is * and the flashcard does not exist, or If-Match is not an entity version",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
     @PutMapping
-    public ResponseEntity<Flashcard> update(@Valid @RequestBody Flashcard flashcard) {
-        return existsById(flashcard.getId()) ? ok(save(flashcard)) : created(save(flashcard));
+    public ResponseEntity<Flashcard> update(@Valid @RequestBody Flashcard flashcard,
+                                            @RequestHeader(value = IF_MATCH, required = false) String ifMatch) {
+        return upserted(flashcardService.upsert(flashcard.withVersion(versionFrom(ifMatch, flashcard.getVersion(),
+                () -> flashcardService.existsById(flashcard.getId())))));
     }
 
     @Operation(summary = "DELETE a flashcard by its id")
@@ -205,12 +427,23 @@ public class FlashcardController implements ResponseHandler {
         return ResponseEntity.noContent().build();
     }
 
-    private boolean existsById(String id) {
-        return flashcardService.existsById(id);
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ok().contentType(APPLICATION_NDJSON).body(out -> {
+            var buffered = new BufferedOutputStream(out);
+            body.writeTo(buffered);
+            buffered.flush();
+        });
     }
 
-    private Flashcard save(Flashcard flashcard) {
-        return flashcardService.save(flashcard);
+    private Consumer<Flashcard> writerTo(OutputStream out) {
+        return flashcard -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(flashcard));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
     }
 
-}
\ No newline at end of file
+}
@@ -1,9 +1,17 @@
 package com.aram.flashcards.controller;
 
+import com.aram.flashcards.service.dto.UpsertResult;
+import com.aram.flashcards.service.exception.PreconditionFailedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.HttpStatus.OK;
 
 public interface ResponseHandler {
 
@@ -11,6 +19,71 @@ public interface ResponseHandler {
         return response(content, CREATED);
     }
 
+    default <T> ResponseEntity<T> upserted(UpsertResult<T> result) {
+        return response(result.getEntity(), result.isCreated() ? CREATED : OK);
+    }
+
+    default <T> ResponseEntity<T> conditional(String ifNoneMatch, String version, Supplier<T> content) {
+        String etag = "\"" + version + "\"";
+        if (ifNoneMatch != null && matchesAny(ifNoneMatch, etag)) {
+            return ResponseEntity.status(NOT_MODIFIED).eTag(etag).build();
+        }
+        return found(ifNoneMatch, etag, content.get());
+    }
+
+    default <T> ResponseEntity<T> versioned(String ifNoneMatch, T entity, Function<T, Long> version) {
+        Long current = version.apply(entity);
+        if (current == null) {
+            return ResponseEntity.ok(entity);
+        }
+        String etag = "\"" + current + "\"";
+        if (ifNoneMatch != null && matchesAny(ifNoneMatch, etag)) {
+            return ResponseEntity.status(NOT_MODIFIED).eTag(etag).build();
+        }
+        return found(ifNoneMatch, etag, entity);
+    }
+
+    private static <T> ResponseEntity<T> found(String ifNoneMatch, String etag, T body) {
+        if (ifNoneMatch != null && matchesAny(ifNoneMatch, "*")) {
+            return ResponseEntity.status(NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    default Long versionFrom(String ifMatch, Long version, BooleanSupplier exists) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return version;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            if (!exists.getAsBoolean()) {
+                throw new PreconditionFailedException("If-Match: * requires an existing resource");
+            }
+            return version;
+        }
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match %s does not match the current entity version", ifMatch);
+        }
+    }
+
     default <T> ResponseEntity<T> response(T content, HttpStatus status) {
         return new ResponseEntity<>(content, status);
     }
@@ -0,0 +1,221 @@
+package com.aram.flashcards.controller;
+
+import com.aram.flashcards.controller.error.ErrorResponse;
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.ReviewLog;
+import com.aram.flashcards.model.ReviewSchedule;
+import com.aram.flashcards.service.ReviewService;
+import com.aram.flashcards.service.dto.ReviewEventsRequest;
+import com.aram.flashcards.service.dto.ReviewRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static org.springframework.http.ResponseEntity.ok;
+
+@RestController
+@Tag(name = "Review")
+@RequestMapping("/api/v1/reviews")
+public class ReviewController implements ResponseHandler {
+
+    private final ReviewService reviewService;
+
+    @Autowired
+    public ReviewController(ReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+    @Operation(summary = "GET the next due flashcards of a study session, earliest due first")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Found the due flashcards",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = Flashcard.class))
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Limit is not positive",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Study session with specified id does not exist",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @GetMapping("/due")
+    public ResponseEntity<List<Flashcard>> findDue(@RequestParam String studySessionId,
+                                                   @RequestParam(required = false) Integer limit) {
+        return ok(reviewService.findDue(studySessionId, limit));
+    }
+
+    @Operation(
+            summary = "GET random flashcards of a study session for a quiz",
+            description = "Draws up to size distinct flashcards uniformly at random. With weighted=true cards are " +
+                    "drawn with probability proportional to the inverse of their SM-2 ease factor, so harder " +
+                    "cards come up more often."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Sampled the flashcards",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = Flashcard.class))
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Size is not positive",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Study session with specified id does not exist",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @GetMapping("/sample")
+    public ResponseEntity<List<Flashcard>> sample(@RequestParam String studySessionId,
+                                                  @RequestParam(required = false) Integer size,
+                                                  @RequestParam(defaultValue = "false") boolean weighted) {
+        return ok(reviewService.sample(studySessionId, size, weighted));
+    }
+
+    @Operation(summary = "GET the review log of a flashcard")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Found the reviews",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ReviewLog.class))
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Flashcard with specified id does not exist",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @GetMapping("/details")
+    public ResponseEntity<List<ReviewLog>> findAllByFlashcardId(@RequestParam String flashcardId) {
+        return ok(reviewService.findAllByFlashcardId(flashcardId));
+    }
+
+    @Operation(summary = "POST a review of a flashcard and reschedule it")
+    @ApiResponse(
+            responseCode = "201",
+            description = "Recorded the review and rescheduled the flashcard",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ReviewSchedule.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Request body contains invalid data",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Flashcard with specified id does not exist",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @PostMapping
+    public ResponseEntity<ReviewSchedule> review(@Valid @RequestBody ReviewRequest request) {
+        return created(reviewService.review(request));
+    }
+
+    @Operation(
+            summary = "POST review events for asynchronous, batched recording",
+            description = "Accepted events are buffered in memory and written in batches by a background " +
+                    "flusher, usually within the configured flush interval. Delivery is at most once: " +
+                    "buffered events are lost if the process crashes, and events for unknown flashcards " +
+                    "are discarded when flushed. On graceful shutdown the buffer is drained first."
+    )
+    @ApiResponse(
+            responseCode = "202",
+            description = "Accepted the review events for recording",
+            content = {
+                    @Content(
+                            mediaType = "application/json"
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Request body contains invalid data",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "429",
+            description = "Ingestion queue is full, retry later",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @PostMapping("/events")
+    public ResponseEntity<Void> submit(@Valid @RequestBody ReviewEventsRequest request) {
+        reviewService.submit(request.getReviews());
+        return ResponseEntity.accepted().build();
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.aram.flashcards.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+final class SharedJsonBodies {
+
+    private final ObjectMapper objectMapper;
+    private final SingleFlight<String, byte[]> flights = new SingleFlight<>();
+
+    SharedJsonBodies(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    byte[] body(String key, Supplier<?> content) {
+        return flights.execute(key, () -> serialize(content.get()));
+    }
+
+    private byte[] serialize(Object content) {
+        try {
+            return objectMapper.writeValueAsBytes(content);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
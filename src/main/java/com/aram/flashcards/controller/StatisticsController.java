@@ -0,0 +1,51 @@
+package com.aram.flashcards.controller;
+
+import com.aram.flashcards.service.StatisticsService;
+import com.aram.flashcards.service.dto.Statistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.http.ResponseEntity.ok;
+
+@RestController
+@Tag(name = "Statistics")
+@RequestMapping("/api/v1/statistics")
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+
+    @Autowired
+    public StatisticsController(StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    @Operation(
+            summary = "GET the number of study sessions per category and flashcards per study session",
+            description = "Counts are maintained incrementally as entities are created and deleted, and are " +
+                    "reconciled against the database periodically and after updates; reconciledAt tells when " +
+                    "that last happened."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Found the statistics",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Statistics.class)
+                    )
+            }
+    )
+    @GetMapping
+    public ResponseEntity<Statistics> findStatistics() {
+        return ok(statisticsService.findStatistics());
+    }
+
+}
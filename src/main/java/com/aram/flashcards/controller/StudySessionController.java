@@ -3,7 +3,9 @@ package com.aram.flashcards.controller;
 import com.aram.flashcards.controller.error.ErrorResponse;
 import com.aram.flashcards.model.StudySession;
 import com.aram.flashcards.service.StudySessionService;
+import com.aram.flashcards.service.VersionService;
 import com.aram.flashcards.service.dto.StudySessionRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,18 +17,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import static org.springframework.http.ResponseEntity.ok;
+import java.util.List;
 
+import static com.aram.flashcards.service.Aggregate.CATEGORIES;
+import static com.aram.flashcards.service.Aggregate.STUDY_SESSIONS;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @RestController
 @Tag(name = "Study Session")
 @RequestMapping("/api/v1/study-sessions")
 public class StudySessionController implements ResponseHandler {
 
     private final StudySessionService studySessionService;
+    private final VersionService versionService;
+    private final SharedJsonBodies sharedBodies;
 
     @Autowired
-    public StudySessionController(StudySessionService studySessionService) {
+    public StudySessionController(StudySessionService studySessionService,
+                                  VersionService versionService,
+                                  ObjectMapper objectMapper) {
         this.studySessionService = studySessionService;
+        this.versionService = versionService;
+        this.sharedBodies = new SharedJsonBodies(objectMapper);
     }
 
     @Operation(summary = "GET all study sessions")
@@ -40,9 +53,10 @@ public class StudySessionController implements ResponseHandler {
                     )
             }
     )
+    @ApiResponse(responseCode = "304", description = "The study session list has not changed since the ETag in If-None-Match")
     @GetMapping
-    public ResponseEntity<Iterable<StudySession>> findAll() {
-        return ok(studySessionService.findAll());
+    public ResponseEntity<Iterable<StudySession>> findAll(@RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, versionService.versionOf(STUDY_SESSIONS), studySessionService::findAll);
     }
 
     @Operation(summary = "GET a study session by its id")
@@ -66,9 +80,11 @@ public class StudySessionController implements ResponseHandler {
                     )
             }
     )
+    @ApiResponse(responseCode = "304", description = "The study session has not changed since the ETag in If-None-Match")
     @GetMapping("/{id}")
-    public ResponseEntity<StudySession> findById(@PathVariable String id) {
-        return ok(studySessionService.findById(id));
+    public ResponseEntity<StudySession> findById(@PathVariable String id,
+                                                 @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return versioned(ifNoneMatch, studySessionService.findById(id), StudySession::getVersion);
     }
 
     @Operation(summary = "GET all study sessions by category id")
@@ -92,9 +108,43 @@ public class StudySessionController implements ResponseHandler {
                     )
             }
     )
-    @GetMapping("/details")
-    public ResponseEntity<Iterable<StudySession>> findAllByCategoryId(@RequestParam String categoryId) {
-        return ok(studySessionService.findAllByCategoryId(categoryId));
+    @ApiResponse(responseCode = "304", description = "The study sessions of the category has not changed since the ETag in If-None-Match")
+    @GetMapping(value = "/details", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> findAllByCategoryId(@RequestParam String categoryId,
+                                                      @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String version = versionService.versionOf(CATEGORIES, STUDY_SESSIONS);
+        return conditional(ifNoneMatch, version, () -> sharedBodies.body(categoryId + "@" + version,
+                () -> studySessionService.findAllByCategoryId(categoryId)));
+    }
+
+    @Operation(summary = "GET study sessions whose names start with a prefix, in name order")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Found the matching study sessions",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = StudySession.class))
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Limit is not positive",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(responseCode = "304", description = "The matching study sessions has not changed since the ETag in If-None-Match")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<StudySession>> autocomplete(@RequestParam String prefix,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, versionService.versionOf(STUDY_SESSIONS),
+                () -> studySessionService.autocomplete(prefix, limit));
     }
 
     @Operation(summary = "POST a study session")
@@ -133,7 +183,12 @@ public class StudySessionController implements ResponseHandler {
         return created(studySessionService.createStudySession(request));
     }
 
-    @Operation(summary = "PUT a study session")
+    @Operation(
+            summary = "PUT a study session",
+            description = "With a version in the body or a quoted version in If-Match, the update only applies " +
+                    "if the stored study session is still at that version. The ETag of GET by id is that quoted version. " +
+                    "If-Match: * only updates an existing study session. Without either the study session is overwritten."
+    )
     @ApiResponse(
             responseCode = "200",
             description = "Updated study session successfully",
@@ -174,9 +229,31 @@ public class StudySessionController implements ResponseHandler {
                     )
             }
     )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Study session is not at the version given in the body or If-Match",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
+    @ApiResponse(
+            responseCode = "412",
+            description = "If-Match is * and the study session does not exist, or If-Match is not an entity version",
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            }
+    )
     @PutMapping
-    public ResponseEntity<StudySession> update(@Valid @RequestBody StudySession studySession) {
-        return existsById(studySession.getId()) ? ok(save(studySession)) : created(save(studySession));
+    public ResponseEntity<StudySession> update(@Valid @RequestBody StudySession studySession,
+                                               @RequestHeader(value = IF_MATCH, required = false) String ifMatch) {
+        return upserted(studySessionService.upsert(studySession.withVersion(versionFrom(ifMatch, studySession.getVersion(),
+                () -> studySessionService.existsById(studySession.getId())))));
     }
 
     @Operation(summary = "DELETE a study session by its id")
@@ -205,12 +282,4 @@ public class StudySessionController implements ResponseHandler {
         return ResponseEntity.noContent().build();
     }
 
-    private boolean existsById(String id) {
-        return studySessionService.existsById(id);
-    }
-
-    private StudySession save(StudySession studySession) {
-        return studySessionService.save(studySession);
-    }
-
 }
@@ -1,9 +1,16 @@
 package com.aram.flashcards.controller.error;
 
 import com.aram.flashcards.controller.ResponseHandler;
+import com.aram.flashcards.model.InvalidIdException;
 import com.aram.flashcards.service.exception.BadRequestException;
 import com.aram.flashcards.service.exception.ConflictException;
+import com.aram.flashcards.service.exception.NearDuplicateException;
 import com.aram.flashcards.service.exception.NotFoundException;
+import com.aram.flashcards.service.exception.PreconditionFailedException;
+import com.aram.flashcards.service.exception.TooManyRequestsException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -32,6 +39,22 @@ public class ApiExceptionHandler implements ResponseHandler {
         return responseFrom(exception);
     }
 
+    @ExceptionHandler(InvalidIdException.class)
+    @ResponseStatus(BAD_REQUEST)
+    @ResponseBody
+    ErrorResponse handle(InvalidIdException exception) {
+        return responseFrom(exception);
+    }
+
+    @ExceptionHandler(InvalidDataAccessApiUsageException.class)
+    @ResponseBody
+    ResponseEntity<ErrorResponse> handle(InvalidDataAccessApiUsageException exception) {
+        if (exception.getCause() instanceof InvalidIdException invalidId) {
+            return ResponseEntity.status(BAD_REQUEST).body(responseFrom(invalidId));
+        }
+        throw exception;
+    }
+
     @ExceptionHandler(ConflictException.class)
     @ResponseStatus(CONFLICT)
     @ResponseBody
@@ -39,6 +62,34 @@ public class ApiExceptionHandler implements ResponseHandler {
         return responseFrom(exception);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(CONFLICT)
+    @ResponseBody
+    ErrorResponse handle(OptimisticLockingFailureException exception) {
+        return ErrorResponse.withMessage("The entity was modified concurrently, reload it and retry");
+    }
+
+    @ExceptionHandler(NearDuplicateException.class)
+    @ResponseStatus(CONFLICT)
+    @ResponseBody
+    NearDuplicateErrorResponse handle(NearDuplicateException exception) {
+        return new NearDuplicateErrorResponse(exception.getMessage(), exception.getDuplicateId());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(PRECONDITION_FAILED)
+    @ResponseBody
+    ErrorResponse handle(PreconditionFailedException exception) {
+        return responseFrom(exception);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(TOO_MANY_REQUESTS)
+    @ResponseBody
+    ErrorResponse handle(TooManyRequestsException exception) {
+        return responseFrom(exception);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(BAD_REQUEST)
     @ResponseBody
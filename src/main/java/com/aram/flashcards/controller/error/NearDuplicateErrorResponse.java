@@ -0,0 +1,12 @@
+package com.aram.flashcards.controller.error;
+
+import lombok.Data;
+
+@Data
+public class NearDuplicateErrorResponse {
+
+    private final String error;
+
+    private final String duplicateId;
+
+}
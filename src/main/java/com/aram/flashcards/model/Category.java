@@ -2,10 +2,16 @@ package com.aram.flashcards.model;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.With;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+
+import static com.aram.flashcards.model.IdJavaType.ID_JDBC_TYPE_CODE;
 
 @Data
 @Entity
@@ -14,10 +20,20 @@ import lombok.NoArgsConstructor;
 public class Category {
 
     @Id
+    @JavaType(IdJavaType.class)
+    @JdbcTypeCode(ID_JDBC_TYPE_CODE)
     @NotBlank(message = "id is required")
     private final String id;
 
     @NotBlank(message = "name is required")
     private final String name;
 
+    @With
+    @Version
+    private final Long version;
+
+    public Category(String id, String name) {
+        this(id, name, null);
+    }
+
 }
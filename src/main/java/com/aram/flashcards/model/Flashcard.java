@@ -2,11 +2,16 @@ package com.aram.flashcards.model;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.With;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
 
+import static com.aram.flashcards.model.IdJavaType.ID_JDBC_TYPE_CODE;
 import static lombok.AccessLevel.PRIVATE;
 
 @Data
@@ -16,9 +21,13 @@ import static lombok.AccessLevel.PRIVATE;
 public class Flashcard {
 
     @Id
+    @JavaType(IdJavaType.class)
+    @JdbcTypeCode(ID_JDBC_TYPE_CODE)
     @NotBlank(message = "id is required")
     private final String id;
 
+    @JavaType(IdJavaType.class)
+    @JdbcTypeCode(ID_JDBC_TYPE_CODE)
     @NotBlank(message = "study session id is required")
     private final String studySessionId;
 
@@ -28,4 +37,12 @@ public class Flashcard {
     @NotBlank(message = "answer is required")
     private final String answer;
 
+    @With
+    @Version
+    private final Long version;
+
+    public Flashcard(String id, String studySessionId, String question, String answer) {
+        this(id, studySessionId, question, answer, null);
+    }
+
 }
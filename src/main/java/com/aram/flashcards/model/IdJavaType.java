@@ -0,0 +1,53 @@
+package com.aram.flashcards.model;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringJavaType;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static java.lang.String.format;
+
+public class IdJavaType extends StringJavaType {
+
+    public static final int ID_JDBC_TYPE_CODE = 6_000;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value != null && byte[].class.equals(type)) {
+            return (X) bytesFrom(value);
+        }
+        return super.unwrap(value, type, options);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value instanceof byte[] bytes) {
+            return idFrom(bytes);
+        }
+        return super.wrap(value, options);
+    }
+
+    static byte[] bytesFrom(String id) {
+        UUID uuid = uuidFrom(id);
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    static String idFrom(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+
+    private static UUID uuidFrom(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidIdException(format("Id = %s is not a valid UUID", id));
+        }
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.aram.flashcards.model;
+
+public class InvalidIdException extends IllegalArgumentException {
+
+    public InvalidIdException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.aram.flashcards.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+
+import java.time.Instant;
+
+import static com.aram.flashcards.model.IdJavaType.ID_JDBC_TYPE_CODE;
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor(force = true, access = PRIVATE)
+public class ReviewLog {
+
+    @Id
+    @JavaType(IdJavaType.class)
+    @JdbcTypeCode(ID_JDBC_TYPE_CODE)
+    private final String id;
+
+    @JavaType(IdJavaType.class)
+    @JdbcTypeCode(ID_JDBC_TYPE_CODE)
+    private final String flashcardId;
+
+    private final int grade;
+
+    private final double easeFactor;
+
+    private final int intervalDays;
+
+    private final Instant reviewedAt;
+
+}
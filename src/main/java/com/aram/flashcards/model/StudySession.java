@@ -2,11 +2,16 @@ package com.aram.flashcards.model;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.With;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
 
+import static com.aram.flashcards.model.IdJavaType.ID_JDBC_TYPE_CODE;
 import static lombok.AccessLevel.PRIVATE;
 
 @Data
@@ -16,13 +21,25 @@ import static lombok.AccessLevel.PRIVATE;
 public class StudySession {
 
     @Id
+    @JavaType(IdJavaType.class)
+    @JdbcTypeCode(ID_JDBC_TYPE_CODE)
     @NotBlank(message = "id is required")
     private final String id;
 
+    @JavaType(IdJavaType.class)
+    @JdbcTypeCode(ID_JDBC_TYPE_CODE)
     @NotBlank(message = "category id is required")
     private final String categoryId;
 
     @NotBlank(message = "name is required")
     private final String name;
 
+    @With
+    @Version
+    private final Long version;
+
+    public StudySession(String id, String categoryId, String name) {
+        this(id, categoryId, name, null);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.aram.flashcards.repository;
+
+import lombok.Data;
+
+@Data
+public class CardEase {
+
+    private final String flashcardId;
+
+    private final Double easeFactor;
+
+}
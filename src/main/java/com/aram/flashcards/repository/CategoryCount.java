@@ -0,0 +1,12 @@
+package com.aram.flashcards.repository;
+
+import lombok.Data;
+
+@Data
+public class CategoryCount {
+
+    private final String categoryId;
+
+    private final long studySessions;
+
+}
@@ -2,16 +2,23 @@ package com.aram.flashcards.repository;
 
 import com.aram.flashcards.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface CategoryRepository extends JpaRepository<Category, String> {
+public interface CategoryRepository extends JpaRepository<Category, String>, CategoryUpsert {
 
-    Collection<Category> findAllByOrderByNameAsc();
+    String NAME_UNIQUE = "name_unique";
 
-    boolean existsByName(String name);
+    Collection<Category> findAllByOrderByNameAsc();
 
     Optional<Category> findByName(String name);
 
+    @Query("select new com.aram.flashcards.repository.CategoryCount(c.id, count(s.id)) " +
+            "from Category c left join StudySession s on s.categoryId = c.id " +
+            "group by c.id")
+    List<CategoryCount> countStudySessionsByCategory();
+
 }
@@ -0,0 +1,13 @@
+package com.aram.flashcards.repository;
+
+import com.aram.flashcards.model.Category;
+
+import java.util.Optional;
+
+public interface CategoryUpsert {
+
+    Optional<Upserted> upsert(Category category);
+
+    boolean updateIfCurrent(Category category);
+
+}
@@ -0,0 +1,50 @@
+package com.aram.flashcards.repository;
+
+import com.aram.flashcards.model.Category;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Optional;
+
+class CategoryUpsertImpl implements CategoryUpsert {
+
+    private static final String UPSERT = """
+            INSERT INTO category(id, name, version)
+                VALUES(?, ?, 0)
+                ON DUPLICATE KEY UPDATE
+                    name = CASE WHEN id = VALUES(id) THEN VALUES(name) ELSE name END,
+                    version = CASE WHEN id = VALUES(id) THEN LAST_INSERT_ID(version + 1) ELSE version END
+            """;
+
+    private static final String UPDATE_IF_CURRENT = """
+            UPDATE category
+                SET name = :name, version = version + 1
+                WHERE id = :id AND version = :version
+            """;
+
+    private final EntityManager entityManager;
+    private final IdParameters ids;
+    private final UpsertStatements upserts;
+
+    @Autowired
+    CategoryUpsertImpl(EntityManager entityManager, IdParameters ids, UpsertStatements upserts) {
+        this.entityManager = entityManager;
+        this.ids = ids;
+        this.upserts = upserts;
+    }
+
+    @Override
+    public Optional<Upserted> upsert(Category category) {
+        return upserts.execute(UPSERT, ids.id(category.getId()), category.getName());
+    }
+
+    @Override
+    public boolean updateIfCurrent(Category category) {
+        return entityManager.createNativeQuery(UPDATE_IF_CURRENT)
+                .setParameter("id", ids.id(category.getId()))
+                .setParameter("name", category.getName())
+                .setParameter("version", category.getVersion())
+                .executeUpdate() == 1;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.aram.flashcards.repository;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class DueCard {
+
+    private final String flashcardId;
+
+    private final Instant dueAt;
+
+    public DueCard(String flashcardId, Instant dueAt) {
+        this.flashcardId = flashcardId;
+        this.dueAt = dueAt == null ? Instant.EPOCH : dueAt;
+    }
+
+}
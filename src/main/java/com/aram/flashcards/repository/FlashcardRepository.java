@@ -1,10 +1,44 @@
 package com.aram.flashcards.repository;
 
 import com.aram.flashcards.model.Flashcard;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface FlashcardRepository extends JpaRepository<Flashcard, String> {
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface FlashcardRepository extends JpaRepository<Flashcard, String>, FlashcardUpsert {
+
+    String STREAM_FETCH_SIZE = "1000";
 
     Iterable<Flashcard> findAllByStudySessionId(String studySessionId);
 
+    @Query("select f from Flashcard f join StudySession s on f.studySessionId = s.id " +
+            "where s.categoryId = ?1 order by f.id")
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    List<Flashcard> findAllByCategoryId(String categoryId);
+
+    List<Flashcard> findAllByOrderByIdAsc(Pageable pageable);
+
+    List<Flashcard> findAllByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
+
+    @Query("select f from Flashcard f")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Flashcard> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Flashcard> streamAllByStudySessionId(String studySessionId);
+
 }
@@ -0,0 +1,11 @@
+package com.aram.flashcards.repository;
+
+import com.aram.flashcards.model.Flashcard;
+
+public interface FlashcardUpsert {
+
+    Upserted upsert(Flashcard flashcard);
+
+    boolean updateIfCurrent(Flashcard flashcard);
+
+}
@@ -0,0 +1,55 @@
+package com.aram.flashcards.repository;
+
+import com.aram.flashcards.model.Flashcard;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class FlashcardUpsertImpl implements FlashcardUpsert {
+
+    private static final String UPSERT = """
+            INSERT INTO flashcard(id, study_session_id, question, answer, version)
+                VALUES(?, ?, ?, ?, 0)
+                ON DUPLICATE KEY UPDATE study_session_id = VALUES(study_session_id),
+                                        question = VALUES(question),
+                                        answer = VALUES(answer),
+                                        version = LAST_INSERT_ID(version + 1)
+            """;
+
+    private static final String UPDATE_IF_CURRENT = """
+            UPDATE flashcard
+                SET study_session_id = :studySessionId,
+                    question = :question,
+                    answer = :answer,
+                    version = version + 1
+                WHERE id = :id AND version = :version
+            """;
+
+    private final EntityManager entityManager;
+    private final IdParameters ids;
+    private final UpsertStatements upserts;
+
+    @Autowired
+    FlashcardUpsertImpl(EntityManager entityManager, IdParameters ids, UpsertStatements upserts) {
+        this.entityManager = entityManager;
+        this.ids = ids;
+        this.upserts = upserts;
+    }
+
+    @Override
+    public Upserted upsert(Flashcard flashcard) {
+        return upserts.execute(UPSERT, ids.id(flashcard.getId()), ids.id(flashcard.getStudySessionId()),
+                flashcard.getQuestion(), flashcard.getAnswer()).orElseThrow();
+    }
+
+    @Override
+    public boolean updateIfCurrent(Flashcard flashcard) {
+        return entityManager.createNativeQuery(UPDATE_IF_CURRENT)
+                .setParameter("id", ids.id(flashcard.getId()))
+                .setParameter("studySessionId", ids.id(flashcard.getStudySessionId()))
+                .setParameter("question", flashcard.getQuestion())
+                .setParameter("answer", flashcard.getAnswer())
+                .setParameter("version", flashcard.getVersion())
+                .executeUpdate() == 1;
+    }
+
+}
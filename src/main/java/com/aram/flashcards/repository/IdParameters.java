@@ -0,0 +1,30 @@
+package com.aram.flashcards.repository;
+
+import com.aram.flashcards.model.IdJavaType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.BasicType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import static com.aram.flashcards.model.IdJavaType.ID_JDBC_TYPE_CODE;
+
+@Component
+class IdParameters {
+
+    private final BasicType<String> idType;
+
+    @Autowired
+    IdParameters(EntityManagerFactory entityManagerFactory) {
+        this.idType = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(new IdJavaType(), ID_JDBC_TYPE_CODE);
+    }
+
+    TypedParameterValue<String> id(String id) {
+        return new TypedParameterValue<>(idType, id);
+    }
+
+}
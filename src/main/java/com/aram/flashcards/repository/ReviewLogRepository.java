@@ -0,0 +1,12 @@
+package com.aram.flashcards.repository;
+
+import com.aram.flashcards.model.ReviewLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReviewLogRepository extends JpaRepository<ReviewLog, String> {
+
+    List<ReviewLog> findAllByFlashcardIdOrderByReviewedAtAsc(String flashcardId);
+
+}
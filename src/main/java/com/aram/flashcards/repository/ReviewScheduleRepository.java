@@ -0,0 +1,29 @@
+package com.aram.flashcards.repository;
+
+import com.aram.flashcards.model.ReviewSchedule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ReviewScheduleRepository extends JpaRepository<ReviewSchedule, String> {
+
+    @Query("select new com.aram.flashcards.repository.DueCard(s.flashcardId, s.dueAt) " +
+            "from ReviewSchedule s join Flashcard f on f.id = s.flashcardId " +
+            "where f.studySessionId = ?1 and s.dueAt <= ?2 " +
+            "order by s.dueAt, s.flashcardId")
+    List<DueCard> findDueCardsByStudySessionId(String studySessionId, Instant until, Pageable limit);
+
+    @Query("select f.id from Flashcard f " +
+            "where f.studySessionId = ?1 " +
+            "and not exists (select s.flashcardId from ReviewSchedule s where s.flashcardId = f.id)")
+    List<String> findUnscheduledFlashcardIdsByStudySessionId(String studySessionId, Pageable limit);
+
+    @Query("select new com.aram.flashcards.repository.CardEase(f.id, s.easeFactor) " +
+            "from Flashcard f left join ReviewSchedule s on s.flashcardId = f.id " +
+            "where f.studySessionId = ?1")
+    List<CardEase> findCardEasesByStudySessionId(String studySessionId);
+
+}
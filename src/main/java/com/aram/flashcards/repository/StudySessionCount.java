@@ -0,0 +1,14 @@
+package com.aram.flashcards.repository;
+
+import lombok.Data;
+
+@Data
+public class StudySessionCount {
+
+    private final String studySessionId;
+
+    private final String categoryId;
+
+    private final long flashcards;
+
+}
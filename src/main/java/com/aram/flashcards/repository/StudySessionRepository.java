@@ -2,13 +2,22 @@ package com.aram.flashcards.repository;
 
 import com.aram.flashcards.model.StudySession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface StudySessionRepository extends JpaRepository<StudySession, String> {
+public interface StudySessionRepository extends JpaRepository<StudySession, String>, StudySessionUpsert {
 
     Optional<StudySession> findByName(String name);
 
     Iterable<StudySession> findAllByCategoryId(String id);
 
-}
\ No newline at end of file
+    List<StudySession> findAllByCategoryIdOrderByNameAsc(String categoryId);
+
+    @Query("select new com.aram.flashcards.repository.StudySessionCount(s.id, s.categoryId, count(f.id)) " +
+            "from StudySession s left join Flashcard f on f.studySessionId = s.id " +
+            "group by s.id, s.categoryId")
+    List<StudySessionCount> countFlashcardsByStudySession();
+
+}
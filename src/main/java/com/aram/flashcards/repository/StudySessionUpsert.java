@@ -0,0 +1,11 @@
+package com.aram.flashcards.repository;
+
+import com.aram.flashcards.model.StudySession;
+
+public interface StudySessionUpsert {
+
+    Upserted upsert(StudySession studySession);
+
+    boolean updateIfCurrent(StudySession studySession);
+
+}
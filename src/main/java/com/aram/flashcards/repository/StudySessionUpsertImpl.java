@@ -0,0 +1,50 @@
+package com.aram.flashcards.repository;
+
+import com.aram.flashcards.model.StudySession;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class StudySessionUpsertImpl implements StudySessionUpsert {
+
+    private static final String UPSERT = """
+            INSERT INTO study_session(id, category_id, name, version)
+                VALUES(?, ?, ?, 0)
+                ON DUPLICATE KEY UPDATE category_id = VALUES(category_id),
+                                        name = VALUES(name),
+                                        version = LAST_INSERT_ID(version + 1)
+            """;
+
+    private static final String UPDATE_IF_CURRENT = """
+            UPDATE study_session
+                SET category_id = :categoryId, name = :name, version = version + 1
+                WHERE id = :id AND version = :version
+            """;
+
+    private final EntityManager entityManager;
+    private final IdParameters ids;
+    private final UpsertStatements upserts;
+
+    @Autowired
+    StudySessionUpsertImpl(EntityManager entityManager, IdParameters ids, UpsertStatements upserts) {
+        this.entityManager = entityManager;
+        this.ids = ids;
+        this.upserts = upserts;
+    }
+
+    @Override
+    public Upserted upsert(StudySession studySession) {
+        return upserts.execute(UPSERT, ids.id(studySession.getId()), ids.id(studySession.getCategoryId()),
+                studySession.getName()).orElseThrow();
+    }
+
+    @Override
+    public boolean updateIfCurrent(StudySession studySession) {
+        return entityManager.createNativeQuery(UPDATE_IF_CURRENT)
+                .setParameter("id", ids.id(studySession.getId()))
+                .setParameter("categoryId", ids.id(studySession.getCategoryId()))
+                .setParameter("name", studySession.getName())
+                .setParameter("version", studySession.getVersion())
+                .executeUpdate() == 1;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.aram.flashcards.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
+
+@Component
+class UpsertStatements {
+
+    private static final String LAST_INSERT_ID = "SELECT LAST_INSERT_ID()";
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    UpsertStatements(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    Optional<Upserted> execute(String sql, Object... parameters) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        return Optional.ofNullable(entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    bind(statement, i + 1, parameters[i], session);
+                }
+                return switch (statement.executeUpdate()) {
+                    case 0 -> null;
+                    case 1 -> new Upserted(true, 0);
+                    default -> new Upserted(false, lastInsertId(connection, statement));
+                };
+            }
+        }));
+    }
+
+    private static void bind(PreparedStatement statement, int index, Object parameter, WrapperOptions options)
+            throws SQLException {
+        if (parameter instanceof TypedParameterValue<?> typed) {
+            bindTyped(statement, index, typed, options);
+        } else {
+            statement.setObject(index, parameter);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void bindTyped(PreparedStatement statement, int index, TypedParameterValue<T> typed,
+                                      WrapperOptions options) throws SQLException {
+        ((JdbcMapping) typed.getType()).getJdbcValueBinder().bind(statement, typed.getValue(), index, options);
+    }
+
+    private static long lastInsertId(Connection connection, PreparedStatement statement) throws SQLException {
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            if (keys.next()) {
+                return keys.getLong(1);
+            }
+        }
+        try (Statement query = connection.createStatement(); ResultSet result = query.executeQuery(LAST_INSERT_ID)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+}
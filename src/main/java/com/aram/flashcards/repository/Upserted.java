@@ -0,0 +1,12 @@
+package com.aram.flashcards.repository;
+
+import lombok.Data;
+
+@Data
+public class Upserted {
+
+    private final boolean created;
+
+    private final long version;
+
+}
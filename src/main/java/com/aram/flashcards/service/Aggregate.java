@@ -0,0 +1,9 @@
+package com.aram.flashcards.service;
+
+public enum Aggregate {
+
+    CATEGORIES,
+    STUDY_SESSIONS,
+    FLASHCARDS
+
+}
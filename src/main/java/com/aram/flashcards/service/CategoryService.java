@@ -2,6 +2,9 @@ package com.aram.flashcards.service;
 
 import com.aram.flashcards.model.Category;
 import com.aram.flashcards.service.dto.CategoryRequest;
+import com.aram.flashcards.service.dto.UpsertResult;
+
+import java.util.List;
 
 public interface CategoryService {
 
@@ -15,7 +18,7 @@ public interface CategoryService {
 
     boolean existsById(String id);
 
-    Category save(Category category);
+    UpsertResult<Category> upsert(Category category);
 
     void assertExistsById(String id);
 
@@ -23,4 +26,6 @@ public interface CategoryService {
 
     String idFromCategoryWithName(String categoryName);
 
+    List<Category> autocomplete(String prefix, Integer limit);
+
 }
@@ -0,0 +1,9 @@
+package com.aram.flashcards.service;
+
+import com.aram.flashcards.service.dto.CategoryTree;
+
+public interface CategoryTreeService {
+
+    CategoryTree findTreeById(String categoryId);
+
+}
@@ -1,21 +1,45 @@
 package com.aram.flashcards.service;
 
 import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.service.dto.DuplicatePolicy;
+import com.aram.flashcards.service.dto.FlashcardBatchItem;
+import com.aram.flashcards.service.dto.FlashcardCreateResult;
+import com.aram.flashcards.service.dto.FlashcardPage;
 import com.aram.flashcards.service.dto.FlashcardRequest;
+import com.aram.flashcards.service.dto.FlashcardSearchHit;
+import com.aram.flashcards.service.dto.UpsertResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface FlashcardService {
     Iterable<Flashcard> findAll();
 
     Flashcard findById(String id);
 
+    List<Flashcard> findAllById(Collection<String> ids);
+
     Flashcard createFlashcard(FlashcardRequest request);
 
+    FlashcardCreateResult createFlashcard(FlashcardRequest request, DuplicatePolicy duplicates);
+
+    List<FlashcardBatchItem> createFlashcards(List<FlashcardRequest> requests);
+
     boolean existsById(String id);
 
-    Flashcard save(Flashcard flashcard);
+    UpsertResult<Flashcard> upsert(Flashcard flashcard);
 
     void deleteById(String id);
 
     Iterable<Flashcard> findAllByStudySessionId(String studySessionId);
 
+    FlashcardPage findPage(String cursor, Integer size);
+
+    void exportAll(Consumer<Flashcard> consumer);
+
+    void exportAllByStudySessionId(String studySessionId, Consumer<Flashcard> consumer);
+
+    List<FlashcardSearchHit> search(String query, String studySessionId, Integer limit);
+
 }
@@ -0,0 +1,22 @@
+package com.aram.flashcards.service;
+
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.ReviewLog;
+import com.aram.flashcards.model.ReviewSchedule;
+import com.aram.flashcards.service.dto.ReviewRequest;
+
+import java.util.List;
+
+public interface ReviewService {
+
+    ReviewSchedule review(ReviewRequest request);
+
+    void submit(List<ReviewRequest> requests);
+
+    List<Flashcard> findDue(String studySessionId, Integer limit);
+
+    List<ReviewLog> findAllByFlashcardId(String flashcardId);
+
+    List<Flashcard> sample(String studySessionId, Integer size, boolean weighted);
+
+}
@@ -0,0 +1,9 @@
+package com.aram.flashcards.service;
+
+import com.aram.flashcards.service.dto.Statistics;
+
+public interface StatisticsService {
+
+    Statistics findStatistics();
+
+}
@@ -2,6 +2,9 @@ package com.aram.flashcards.service;
 
 import com.aram.flashcards.model.StudySession;
 import com.aram.flashcards.service.dto.StudySessionRequest;
+import com.aram.flashcards.service.dto.UpsertResult;
+
+import java.util.List;
 
 public interface StudySessionService {
 
@@ -11,7 +14,7 @@ public interface StudySessionService {
 
     StudySession createStudySession(StudySessionRequest request);
 
-    StudySession save(StudySession studySession);
+    UpsertResult<StudySession> upsert(StudySession studySession);
 
     boolean existsById(String id);
 
@@ -22,4 +25,7 @@ public interface StudySessionService {
     String idFromStudySessionWithName(String name);
 
     Iterable<StudySession> findAllByCategoryId(String categoryId);
+
+    List<StudySession> autocomplete(String prefix, Integer limit);
+
 }
@@ -0,0 +1,7 @@
+package com.aram.flashcards.service;
+
+public interface VersionService {
+
+    String versionOf(Aggregate... aggregates);
+
+}
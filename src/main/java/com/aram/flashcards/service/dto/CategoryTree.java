@@ -0,0 +1,22 @@
+package com.aram.flashcards.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class CategoryTree {
+
+    private final String id;
+
+    private final String name;
+
+    private final List<StudySessionTree> studySessions;
+
+}
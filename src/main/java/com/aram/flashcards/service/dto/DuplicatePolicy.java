@@ -0,0 +1,11 @@
+package com.aram.flashcards.service.dto;
+
+public enum DuplicatePolicy {
+
+    IGNORE,
+
+    WARN,
+
+    REJECT
+
+}
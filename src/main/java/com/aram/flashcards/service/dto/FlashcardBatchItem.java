@@ -0,0 +1,30 @@
+package com.aram.flashcards.service.dto;
+
+import com.aram.flashcards.model.Flashcard;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@JsonInclude(NON_NULL)
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor(access = PRIVATE)
+public class FlashcardBatchItem {
+
+    private final Flashcard flashcard;
+
+    private final String error;
+
+    public static FlashcardBatchItem created(Flashcard flashcard) {
+        return new FlashcardBatchItem(flashcard, null);
+    }
+
+    public static FlashcardBatchItem failed(String error) {
+        return new FlashcardBatchItem(null, error);
+    }
+
+}
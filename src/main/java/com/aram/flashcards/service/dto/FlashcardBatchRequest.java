@@ -0,0 +1,24 @@
+package com.aram.flashcards.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class FlashcardBatchRequest {
+
+    @Valid
+    @NotEmpty(message = "flashcards are required")
+    @Size(max = 10000, message = "at most 10000 flashcards can be created at once")
+    private final List<FlashcardRequest> flashcards;
+
+}
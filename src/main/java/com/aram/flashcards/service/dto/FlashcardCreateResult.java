@@ -0,0 +1,15 @@
+package com.aram.flashcards.service.dto;
+
+import com.aram.flashcards.model.Flashcard;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FlashcardCreateResult {
+
+    private final Flashcard flashcard;
+
+    private final String nearDuplicateId;
+
+}
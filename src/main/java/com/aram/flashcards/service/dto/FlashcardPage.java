@@ -0,0 +1,21 @@
+package com.aram.flashcards.service.dto;
+
+import com.aram.flashcards.model.Flashcard;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class FlashcardPage {
+
+    private final List<Flashcard> flashcards;
+
+    private final String next;
+
+}
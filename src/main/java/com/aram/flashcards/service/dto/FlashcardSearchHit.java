@@ -0,0 +1,19 @@
+package com.aram.flashcards.service.dto;
+
+import com.aram.flashcards.model.Flashcard;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class FlashcardSearchHit {
+
+    private final Flashcard flashcard;
+
+    private final double score;
+
+}
@@ -0,0 +1,24 @@
+package com.aram.flashcards.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class ReviewEventsRequest {
+
+    @Valid
+    @NotEmpty(message = "reviews are required")
+    @Size(max = 1000, message = "at most 1000 reviews are accepted per request")
+    private final List<ReviewRequest> reviews;
+
+}
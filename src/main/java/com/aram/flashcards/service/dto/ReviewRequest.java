@@ -0,0 +1,26 @@
+package com.aram.flashcards.service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class ReviewRequest {
+
+    @NotBlank(message = "flashcard id is required")
+    private final String flashcardId;
+
+    @NotNull(message = "grade is required")
+    @Min(value = 0, message = "grade must be between 0 and 5")
+    @Max(value = 5, message = "grade must be between 0 and 5")
+    private final Integer grade;
+
+}
@@ -0,0 +1,23 @@
+package com.aram.flashcards.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class Statistics {
+
+    private final Map<String, Long> studySessionsByCategory;
+
+    private final Map<String, Long> flashcardsByStudySession;
+
+    private final Instant reconciledAt;
+
+}
@@ -0,0 +1,14 @@
+package com.aram.flashcards.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UpsertResult<T> {
+
+    private final T entity;
+
+    private final boolean created;
+
+}
@@ -1,9 +1,13 @@
 package com.aram.flashcards.service.exception;
 
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends ServiceException {
 
     public BadRequestException(String message) {
         super(message);
     }
 
-}
\ No newline at end of file
+    public BadRequestException(String format, Object... args) {
+        super(format, args);
+    }
+
+}
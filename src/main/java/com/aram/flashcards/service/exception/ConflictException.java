@@ -1,7 +1,13 @@
 package com.aram.flashcards.service.exception;
 
-public class ConflictException extends RuntimeException {
+public class ConflictException extends ServiceException {
+
     public ConflictException(String message) {
         super(message);
     }
+
+    public ConflictException(String format, Object... args) {
+        super(format, args);
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.aram.flashcards.service.exception;
+
+import lombok.Getter;
+
+@Getter
+public class NearDuplicateException extends ConflictException {
+
+    private final String duplicateId;
+
+    public NearDuplicateException(String message, String duplicateId) {
+        super(message);
+        this.duplicateId = duplicateId;
+    }
+
+}
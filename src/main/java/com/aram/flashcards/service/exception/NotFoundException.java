@@ -1,9 +1,13 @@
 package com.aram.flashcards.service.exception;
 
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends ServiceException {
 
     public NotFoundException(String message) {
         super(message);
     }
 
+    public NotFoundException(String format, Object... args) {
+        super(format, args);
+    }
+
 }
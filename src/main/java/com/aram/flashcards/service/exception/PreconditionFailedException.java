@@ -0,0 +1,9 @@
+package com.aram.flashcards.service.exception;
+
+public class PreconditionFailedException extends ServiceException {
+
+    public PreconditionFailedException(String format, Object... args) {
+        super(format, args);
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.aram.flashcards.service.exception;
+
+public abstract class ServiceException extends RuntimeException {
+
+    private static final Object[] NO_ARGS = {};
+
+    private final String format;
+    private final Object[] args;
+    private String message;
+
+    protected ServiceException(String message) {
+        this(message, NO_ARGS);
+    }
+
+    protected ServiceException(String format, Object... args) {
+        super(null, null, false, false);
+        this.format = format;
+        this.args = args;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = args.length == 0 ? format : String.format(format, args);
+        }
+        return message;
+    }
+
+}
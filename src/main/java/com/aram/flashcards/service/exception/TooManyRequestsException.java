@@ -0,0 +1,7 @@
+package com.aram.flashcards.service.exception;
+
+public class TooManyRequestsException extends ServiceException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.service.Aggregate;
+import com.aram.flashcards.service.VersionService;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCompletion;
+
+@Component
+class AggregateVersions implements VersionService {
+
+    private final String epoch = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+    private final AtomicLongArray versions = new AtomicLongArray(Aggregate.values().length);
+
+    @Override
+    public String versionOf(Aggregate... aggregates) {
+        StringBuilder version = new StringBuilder(epoch);
+        for (Aggregate aggregate : aggregates) {
+            version.append('-').append(Long.toString(versions.get(aggregate.ordinal()), 36));
+        }
+        return version.toString();
+    }
+
+    void changed(Aggregate... aggregates) {
+        increment(aggregates);
+        afterCompletion(() -> increment(aggregates));
+    }
+
+    private void increment(Aggregate... aggregates) {
+        for (Aggregate aggregate : aggregates) {
+            versions.incrementAndGet(aggregate.ordinal());
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Category;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCompletion;
+
+@Component
+class CategoryCache {
+
+    private static final String ALL = "all";
+
+    private final Cache<String, Collection<Category>> all;
+    private final Cache<String, Category> byId;
+    private final Cache<String, Category> byName;
+    private final Cache<String, Boolean> existingIds;
+    private final MissingIdCache missingIds;
+
+    @Autowired
+    CategoryCache(MeterRegistry meterRegistry,
+                  @Value("${flashcards.cache.categories.maximum-size:1000}") long maximumSize,
+                  @Value("${flashcards.cache.categories.expire-after-write:10m}") Duration expireAfterWrite,
+                  @Value("${flashcards.cache.categories.missing-ids.maximum-size:10000}") long missingIdsMaximumSize,
+                  @Value("${flashcards.cache.categories.missing-ids.time-to-live:30s}") Duration missingIdsTimeToLive) {
+        this.all = monitor(meterRegistry, "categories", newCache(1, expireAfterWrite));
+        this.byId = monitor(meterRegistry, "categories.by-id", newCache(maximumSize, expireAfterWrite));
+        this.byName = monitor(meterRegistry, "categories.by-name", newCache(maximumSize, expireAfterWrite));
+        this.existingIds = monitor(meterRegistry, "categories.existing-ids", newCache(maximumSize, expireAfterWrite));
+        this.missingIds = new MissingIdCache("categories.missing-ids", meterRegistry,
+                missingIdsMaximumSize, missingIdsTimeToLive);
+    }
+
+    Collection<Category> all(Supplier<Collection<Category>> loader) {
+        return all.get(ALL, key -> loader.get());
+    }
+
+    Optional<Category> byId(String id, Function<String, Optional<Category>> loader) {
+        return missingIds.find(id, missing ->
+                Optional.ofNullable(byId.get(missing, key -> loader.apply(key).orElse(null))));
+    }
+
+    Optional<Category> byName(String name, Function<String, Optional<Category>> loader) {
+        return Optional.ofNullable(byName.get(name, key -> loader.apply(key).orElse(null)));
+    }
+
+    boolean exists(String id, Predicate<String> loader) {
+        return missingIds.exists(id, missing -> byId.getIfPresent(missing) != null
+                || existingIds.get(missing, key -> loader.test(key) ? Boolean.TRUE : null) != null);
+    }
+
+    void invalidate() {
+        invalidateAll();
+        afterCompletion(this::invalidateAll);
+        missingIds.invalidateAll();
+    }
+
+    private void invalidateAll() {
+        all.invalidateAll();
+        byId.invalidateAll();
+        byName.invalidateAll();
+        existingIds.invalidateAll();
+    }
+
+    private static <V> Cache<String, V> newCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    private static <V> Cache<String, V> monitor(MeterRegistry meterRegistry, String name, Cache<String, V> cache) {
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+}
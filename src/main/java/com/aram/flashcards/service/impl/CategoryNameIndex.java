@@ -0,0 +1,13 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Category;
+import org.springframework.stereotype.Component;
+
+@Component
+class CategoryNameIndex extends NameIndex<Category> {
+
+    CategoryNameIndex() {
+        super(Category::getId, Category::getName);
+    }
+
+}
@@ -2,81 +2,167 @@ package com.aram.flashcards.service.impl;
 
 import com.aram.flashcards.model.Category;
 import com.aram.flashcards.repository.CategoryRepository;
+import com.aram.flashcards.repository.Upserted;
 import com.aram.flashcards.service.CategoryService;
 import com.aram.flashcards.service.dto.CategoryRequest;
+import com.aram.flashcards.service.dto.UpsertResult;
 import com.aram.flashcards.service.exception.ConflictException;
 import com.aram.flashcards.service.exception.NotFoundException;
 import com.aram.flashcards.service.mapper.CategoryMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
 
-import static java.lang.String.format;
+import static com.aram.flashcards.service.Aggregate.CATEGORIES;
+import static com.aram.flashcards.service.Aggregate.FLASHCARDS;
+import static com.aram.flashcards.service.Aggregate.STUDY_SESSIONS;
 
 @Service
 @Transactional
 class CategoryServiceImpl extends ValidatingService implements CategoryService {
 
+    static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+    static final int MAX_AUTOCOMPLETE_LIMIT = 100;
     private static final String CANNOT_FIND_BY_ID = "Cannot find category with id = %s";
+    private static final String NAME_EXISTS = "Category with name = %s already exists";
+    private static final String STALE_VERSION = "Category with id = %s is not at version %s";
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryCache categoryCache;
+    private final StudySessionExistenceCache studySessionExistenceCache;
+    private final FlashcardSearchIndex flashcardSearchIndex;
+    private final CategoryNameIndex nameIndex;
+    private final StudySessionNameIndex studySessionNameIndex;
+    private final EntityCounters entityCounters;
+    private final AggregateVersions aggregateVersions;
 
     @Autowired
     CategoryServiceImpl(CategoryRepository categoryRepository,
-                        CategoryMapper categoryMapper) {
+                        CategoryMapper categoryMapper,
+                        CategoryCache categoryCache,
+                        StudySessionExistenceCache studySessionExistenceCache,
+                        FlashcardSearchIndex flashcardSearchIndex,
+                        CategoryNameIndex nameIndex,
+                        StudySessionNameIndex studySessionNameIndex,
+                        EntityCounters entityCounters,
+                        AggregateVersions aggregateVersions) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.categoryCache = categoryCache;
+        this.studySessionExistenceCache = studySessionExistenceCache;
+        this.flashcardSearchIndex = flashcardSearchIndex;
+        this.nameIndex = nameIndex;
+        this.studySessionNameIndex = studySessionNameIndex;
+        this.entityCounters = entityCounters;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @Override
     public Collection<Category> findAll() {
-        return categoryRepository.findAllByOrderByNameAsc();
+        return categoryCache.all(() -> List.copyOf(categoryRepository.findAllByOrderByNameAsc()));
     }
 
     @Override
     public Category findById(String id) {
-        return categoryRepository.findById(id).orElseThrow(
-                () -> new NotFoundException(format(CANNOT_FIND_BY_ID, id)));
+        return categoryCache.byId(id, categoryRepository::findById).orElseThrow(
+                () -> new NotFoundException(CANNOT_FIND_BY_ID, id));
     }
 
     @Override
     public Category createCategory(CategoryRequest request) {
-        validate(request);
-        Category category = categoryMapper.categoryFrom(request);
-        return categoryRepository.save(category);
+        assertNotNull(request);
+        Category category = insert(categoryMapper.categoryFrom(request));
+        categoryCache.invalidate();
+        nameIndex.put(category);
+        entityCounters.categoryCreated(category.getId());
+        aggregateVersions.changed(CATEGORIES);
+        return category;
+    }
+
+    private Category insert(Category category) {
+        return withUniqueName(category, () -> categoryRepository.saveAndFlush(category));
+    }
+
+    private <T> T withUniqueName(Category category, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            if (violatesUniqueName(e)) {
+                throw new ConflictException(NAME_EXISTS, category.getName());
+            }
+            throw e;
+        }
+    }
+
+    private static boolean violatesUniqueName(DataIntegrityViolationException exception) {
+        return exception.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(CategoryRepository.NAME_UNIQUE);
     }
 
     @Override
     public void deleteById(String id) {
         assertExistsById(id);
+        categoryCache.invalidate();
+        studySessionExistenceCache.invalidateAll();
+        flashcardSearchIndex.invalidate();
+        nameIndex.remove(id);
+        studySessionNameIndex.removeAllByCategoryId(id);
+        entityCounters.categoryDeleted(id);
+        aggregateVersions.changed(CATEGORIES, STUDY_SESSIONS, FLASHCARDS);
         categoryRepository.deleteById(id);
     }
 
     @Override
     public boolean existsById(String id) {
-        return categoryRepository.existsById(id);
+        return categoryCache.exists(id, categoryRepository::existsById);
     }
 
     @Override
-    public Category save(Category category) {
-        validate(category);
-        return categoryRepository.save(category);
+    public UpsertResult<Category> upsert(Category category) {
+        assertNotNull(category);
+        UpsertResult<Category> result = withUniqueName(category, () -> category.getVersion() == null
+                ? upsertLatest(category)
+                : new UpsertResult<>(updateIfCurrent(category), false));
+        categoryCache.invalidate();
+        nameIndex.put(result.getEntity());
+        entityCounters.markStale();
+        aggregateVersions.changed(CATEGORIES);
+        return result;
+    }
+
+    private UpsertResult<Category> upsertLatest(Category category) {
+        Upserted upserted = categoryRepository.upsert(category)
+                .orElseThrow(() -> new ConflictException(NAME_EXISTS, category.getName()));
+        return new UpsertResult<>(category.withVersion(upserted.getVersion()), upserted.isCreated());
+    }
+
+    private Category updateIfCurrent(Category category) {
+        if (!categoryRepository.updateIfCurrent(category)) {
+            throw new ConflictException(STALE_VERSION, category.getId(), category.getVersion());
+        }
+        return category.withVersion(category.getVersion() + 1);
     }
 
     @Override
     public void assertExistsById(String id) {
         if (!existsById(id)) {
-            throw new NotFoundException(format("Cannot find category with id = %s", id));
+            throw new NotFoundException("Cannot find category with id = %s", id);
         }
     }
 
     @Override
     public Category findByName(String name) {
-        return categoryRepository.findByName(name)
-                .orElseThrow(() -> new NotFoundException(format("Cannot find category with name = %s", name)));
+        return categoryCache.byName(name, categoryRepository::findByName)
+                .orElseThrow(() -> new NotFoundException("Cannot find category with name = %s", name));
     }
 
     @Override
@@ -84,20 +170,11 @@ class CategoryServiceImpl extends ValidatingService implements CategoryService {
         return findByName(categoryName).getId();
     }
 
-    private void validate(Category category) {
-        assertNotNull(category);
-        assertDoesNotExistByName(category.getName());
-    }
-
-    private void validate(CategoryRequest request) {
-        assertNotNull(request);
-        assertDoesNotExistByName(request.getName());
-    }
-
-    private void assertDoesNotExistByName(String name) {
-        if (categoryRepository.existsByName(name)) {
-            throw new ConflictException(format("Category with name = %s already exists", name));
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public List<Category> autocomplete(String prefix, Integer limit) {
+        return nameIndex.complete(prefix, limitFrom(limit, DEFAULT_AUTOCOMPLETE_LIMIT, MAX_AUTOCOMPLETE_LIMIT),
+                categoryRepository::findAll);
     }
 
 }
\ No newline at end of file
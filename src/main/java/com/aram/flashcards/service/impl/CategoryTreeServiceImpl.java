@@ -0,0 +1,59 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Category;
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.StudySession;
+import com.aram.flashcards.repository.FlashcardRepository;
+import com.aram.flashcards.repository.StudySessionRepository;
+import com.aram.flashcards.service.CategoryService;
+import com.aram.flashcards.service.CategoryTreeService;
+import com.aram.flashcards.service.dto.CategoryTree;
+import com.aram.flashcards.service.dto.StudySessionTree;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional(readOnly = true)
+class CategoryTreeServiceImpl implements CategoryTreeService {
+
+    private final CategoryService categoryService;
+    private final StudySessionRepository studySessionRepository;
+    private final FlashcardRepository flashcardRepository;
+
+    @Autowired
+    CategoryTreeServiceImpl(CategoryService categoryService,
+                            StudySessionRepository studySessionRepository,
+                            FlashcardRepository flashcardRepository) {
+        this.categoryService = categoryService;
+        this.studySessionRepository = studySessionRepository;
+        this.flashcardRepository = flashcardRepository;
+    }
+
+    @Override
+    public CategoryTree findTreeById(String categoryId) {
+        Category category = categoryService.findById(categoryId);
+        List<StudySession> studySessions = studySessionRepository.findAllByCategoryIdOrderByNameAsc(categoryId);
+        Map<String, List<Flashcard>> flashcardsByStudySession = new HashMap<>();
+        studySessions.forEach(studySession -> flashcardsByStudySession.put(studySession.getId(), new ArrayList<>()));
+        if (!studySessions.isEmpty()) {
+            flashcardRepository.findAllByCategoryId(categoryId).forEach(flashcard ->
+                    flashcardsByStudySession.computeIfAbsent(flashcard.getStudySessionId(), id -> new ArrayList<>())
+                            .add(flashcard));
+        }
+        List<StudySessionTree> branches = studySessions.stream()
+                .map(studySession -> new StudySessionTree(
+                        studySession.getId(),
+                        studySession.getName(),
+                        flashcardsByStudySession.get(studySession.getId())
+                ))
+                .toList();
+        return new CategoryTree(category.getId(), category.getName(), branches);
+    }
+
+}
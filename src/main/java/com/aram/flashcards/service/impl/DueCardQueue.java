@@ -0,0 +1,99 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.repository.DueCard;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+class DueCardQueue {
+
+    private static final Comparator<DueCard> BY_DUE_AT = Comparator
+            .comparing(DueCard::getDueAt)
+            .thenComparing(DueCard::getFlashcardId);
+
+    private final PriorityQueue<DueCard> heap = new PriorityQueue<>(BY_DUE_AT);
+    private final Map<String, Instant> dueAts = new HashMap<>();
+    private Instant loadedUntil = Instant.MIN;
+    private boolean complete;
+
+    synchronized List<String> due(Instant now, Instant horizon, int limit,
+                                  BiFunction<Instant, Integer, List<DueCard>> loader) {
+        List<String> due = poll(now, limit);
+        if (due.size() < limit && !covers(now)) {
+            load(horizon, limit, loader.apply(horizon, limit));
+            due = poll(now, limit);
+        }
+        return due;
+    }
+
+    private boolean covers(Instant now) {
+        return complete ? !now.isAfter(loadedUntil) : now.isBefore(loadedUntil);
+    }
+
+    private void load(Instant horizon, int limit, List<DueCard> dueCards) {
+        heap.clear();
+        dueAts.clear();
+        dueCards.forEach(dueCard -> dueAts.put(dueCard.getFlashcardId(), dueCard.getDueAt()));
+        heap.addAll(dueCards);
+        complete = dueCards.size() < limit;
+        loadedUntil = complete ? horizon : dueCards.get(dueCards.size() - 1).getDueAt();
+    }
+
+    private List<String> poll(Instant now, int limit) {
+        Instant until = now.isAfter(loadedUntil) ? loadedUntil : now;
+        Set<String> due = new LinkedHashSet<>();
+        List<DueCard> polled = new ArrayList<>();
+        while (due.size() < limit && !heap.isEmpty()) {
+            DueCard next = heap.peek();
+            if (!next.getDueAt().equals(dueAts.get(next.getFlashcardId()))) {
+                heap.poll();
+                continue;
+            }
+            if (next.getDueAt().isAfter(until)) {
+                break;
+            }
+            polled.add(heap.poll());
+            due.add(next.getFlashcardId());
+        }
+        heap.addAll(polled);
+        return new ArrayList<>(due);
+    }
+
+    synchronized void add(String flashcardId) {
+        DueCard unscheduled = new DueCard(flashcardId, null);
+        if (dueAts.putIfAbsent(flashcardId, unscheduled.getDueAt()) == null) {
+            heap.add(unscheduled);
+        }
+    }
+
+    synchronized void reschedule(String flashcardId, Instant dueAt) {
+        DueCard rescheduled = new DueCard(flashcardId, dueAt);
+        dueAts.put(flashcardId, rescheduled.getDueAt());
+        heap.add(rescheduled);
+        if (heap.size() > 2 * dueAts.size() + 16) {
+            compact();
+        }
+    }
+
+    synchronized void remove(String flashcardId) {
+        dueAts.remove(flashcardId);
+    }
+
+    synchronized int size() {
+        return dueAts.size();
+    }
+
+    private void compact() {
+        heap.clear();
+        dueAts.forEach((flashcardId, dueAt) -> heap.add(new DueCard(flashcardId, dueAt)));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.repository.DueCard;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCommit;
+
+@Component
+class DueCardQueues {
+
+    private final Cache<String, DueCardQueue> queues;
+    private final Duration lookahead;
+
+    @Autowired
+    DueCardQueues(MeterRegistry meterRegistry,
+                  @Value("${flashcards.cache.due-cards.maximum-size:10000}") long maximumSize,
+                  @Value("${flashcards.cache.due-cards.expire-after-access:30m}") Duration expireAfterAccess,
+                  @Value("${flashcards.cache.due-cards.lookahead:1h}") Duration lookahead) {
+        this.queues = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .<String, DueCardQueue>build(), "due-cards");
+        this.lookahead = lookahead;
+    }
+
+    List<String> due(String studySessionId, Instant now, int limit, BiFunction<Instant, Integer, List<DueCard>> loader) {
+        return queues.get(studySessionId, id -> new DueCardQueue()).due(now, now.plus(lookahead), limit, loader);
+    }
+
+    void add(String studySessionId, String flashcardId) {
+        afterCommit(() -> {
+            DueCardQueue queue = queues.getIfPresent(studySessionId);
+            if (queue != null) {
+                queue.add(flashcardId);
+            }
+        });
+    }
+
+    void reschedule(String studySessionId, String flashcardId, Instant dueAt) {
+        afterCommit(() -> {
+            DueCardQueue queue = queues.getIfPresent(studySessionId);
+            if (queue != null) {
+                queue.reschedule(flashcardId, dueAt);
+            }
+        });
+    }
+
+    void remove(String studySessionId, String flashcardId) {
+        DueCardQueue queue = queues.getIfPresent(studySessionId);
+        if (queue != null) {
+            queue.remove(flashcardId);
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.repository.CategoryCount;
+import com.aram.flashcards.repository.StudySessionCount;
+import com.aram.flashcards.service.dto.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCommit;
+
+@Component
+class EntityCounters {
+
+    private final Map<String, Long> studySessionsByCategory = new HashMap<>();
+    private final Map<String, Long> flashcardsByStudySession = new HashMap<>();
+    private final Map<String, String> categoryByStudySession = new HashMap<>();
+    private boolean loaded;
+    private boolean stale;
+    private Instant reconciledAt;
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    synchronized boolean needsReconciliation() {
+        return !loaded || stale;
+    }
+
+    synchronized Statistics snapshot() {
+        return new Statistics(
+                new TreeMap<>(studySessionsByCategory),
+                new TreeMap<>(flashcardsByStudySession),
+                reconciledAt
+        );
+    }
+
+    synchronized void reconcile(List<CategoryCount> categories, List<StudySessionCount> studySessions, Instant now) {
+        studySessionsByCategory.clear();
+        flashcardsByStudySession.clear();
+        categoryByStudySession.clear();
+        categories.forEach(count -> studySessionsByCategory.put(count.getCategoryId(), count.getStudySessions()));
+        studySessions.forEach(count -> {
+            flashcardsByStudySession.put(count.getStudySessionId(), count.getFlashcards());
+            categoryByStudySession.put(count.getStudySessionId(), count.getCategoryId());
+        });
+        loaded = true;
+        stale = false;
+        reconciledAt = now;
+    }
+
+    void categoryCreated(String categoryId) {
+        update(() -> studySessionsByCategory.putIfAbsent(categoryId, 0L));
+    }
+
+    void categoryDeleted(String categoryId) {
+        update(() -> {
+            studySessionsByCategory.remove(categoryId);
+            categoryByStudySession.entrySet().removeIf(entry -> {
+                if (entry.getValue().equals(categoryId)) {
+                    flashcardsByStudySession.remove(entry.getKey());
+                    return true;
+                }
+                return false;
+            });
+        });
+    }
+
+    void studySessionCreated(String studySessionId, String categoryId) {
+        update(() -> {
+            if (categoryByStudySession.putIfAbsent(studySessionId, categoryId) == null) {
+                studySessionsByCategory.merge(categoryId, 1L, Long::sum);
+                flashcardsByStudySession.put(studySessionId, 0L);
+            }
+        });
+    }
+
+    void studySessionDeleted(String studySessionId) {
+        update(() -> {
+            String categoryId = categoryByStudySession.remove(studySessionId);
+            flashcardsByStudySession.remove(studySessionId);
+            if (categoryId != null) {
+                studySessionsByCategory.computeIfPresent(categoryId, (id, count) -> count - 1);
+            }
+        });
+    }
+
+    void flashcardsCreated(String studySessionId, long count) {
+        update(() -> flashcardsByStudySession.computeIfPresent(studySessionId, (id, current) -> current + count));
+    }
+
+    void flashcardDeleted(String studySessionId) {
+        update(() -> flashcardsByStudySession.computeIfPresent(studySessionId, (id, current) -> current - 1));
+    }
+
+    void markStale() {
+        update(() -> stale = true);
+    }
+
+    private void update(Runnable change) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (loaded) {
+                    change.run();
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.aram.flashcards.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCompletion;
+
+class ExistenceCache {
+
+    private final Cache<String, Boolean> existingIds;
+
+    ExistenceCache(String name, MeterRegistry meterRegistry, long maximumSize, Duration timeToLive) {
+        this.existingIds = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .<String, Boolean>build(), name);
+    }
+
+    boolean exists(String id, Predicate<String> loader) {
+        return existingIds.get(id, key -> loader.test(key) ? Boolean.TRUE : null) != null;
+    }
+
+    void invalidate(String id) {
+        existingIds.invalidate(id);
+        afterCompletion(() -> existingIds.invalidate(id));
+    }
+
+    void invalidateAll() {
+        existingIds.invalidateAll();
+        afterCompletion(existingIds::invalidateAll);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.aram.flashcards.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+class FlashcardDeck {
+
+    private String[] ids;
+    private double[] weights;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private int size;
+
+    FlashcardDeck(Map<String, Double> weightsById) {
+        ids = new String[weightsById.size()];
+        weights = new double[weightsById.size()];
+        weightsById.forEach((id, weight) -> {
+            ids[size] = id;
+            weights[size] = weight;
+            positions.put(id, size++);
+        });
+    }
+
+    synchronized List<String> sample(int count, RandomGenerator random) {
+        int sampled = Math.min(count, size);
+        Set<Integer> indexes = new LinkedHashSet<>();
+        for (int bound = size - sampled; bound < size; bound++) {
+            int index = random.nextInt(bound + 1);
+            indexes.add(indexes.contains(index) ? bound : index);
+        }
+        List<String> sample = new ArrayList<>(sampled);
+        indexes.forEach(index -> sample.add(ids[index]));
+        Collections.shuffle(sample, random);
+        return sample;
+    }
+
+    synchronized List<String> sampleWeighted(int count, RandomGenerator random) {
+        PriorityQueue<Key> top = new PriorityQueue<>(count + 1, Comparator.comparingDouble(Key::value));
+        for (int index = 0; index < size; index++) {
+            top.add(new Key(index, Math.log(1 - random.nextDouble()) / weights[index]));
+            if (top.size() > count) {
+                top.poll();
+            }
+        }
+        String[] sample = new String[top.size()];
+        for (int i = sample.length - 1; i >= 0; i--) {
+            sample[i] = ids[top.poll().index()];
+        }
+        return Arrays.asList(sample);
+    }
+
+    synchronized void reweigh(String id, double weight) {
+        Integer position = positions.get(id);
+        if (position != null) {
+            weights[position] = weight;
+        }
+    }
+
+    synchronized void add(String id, double weight) {
+        if (positions.containsKey(id)) {
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(16, size * 2));
+            weights = Arrays.copyOf(weights, ids.length);
+        }
+        ids[size] = id;
+        weights[size] = weight;
+        positions.put(id, size++);
+    }
+
+    synchronized void remove(String id) {
+        Integer position = positions.remove(id);
+        if (position == null) {
+            return;
+        }
+        int last = --size;
+        if (position != last) {
+            ids[position] = ids[last];
+            weights[position] = weights[last];
+            positions.put(ids[position], position);
+        }
+        ids[last] = null;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private record Key(int index, double value) {
+    }
+
+}
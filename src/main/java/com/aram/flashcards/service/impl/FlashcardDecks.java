@@ -0,0 +1,81 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.repository.CardEase;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static com.aram.flashcards.service.impl.Sm2Scheduler.INITIAL_EASE_FACTOR;
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCommit;
+
+@Component
+class FlashcardDecks {
+
+    private final Cache<String, FlashcardDeck> decks;
+
+    @Autowired
+    FlashcardDecks(MeterRegistry meterRegistry,
+                   @Value("${flashcards.cache.decks.maximum-size:10000}") long maximumSize,
+                   @Value("${flashcards.cache.decks.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.decks = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .<String, FlashcardDeck>build(), "decks");
+    }
+
+    List<String> sample(String studySessionId, int count, boolean weighted, Function<String, List<CardEase>> loader) {
+        FlashcardDeck deck = decks.get(studySessionId, id -> deckOf(loader.apply(id)));
+        return weighted
+                ? deck.sampleWeighted(count, ThreadLocalRandom.current())
+                : deck.sample(count, ThreadLocalRandom.current());
+    }
+
+    void add(String studySessionId, String flashcardId) {
+        afterCommit(() -> {
+            FlashcardDeck deck = decks.getIfPresent(studySessionId);
+            if (deck != null) {
+                deck.add(flashcardId, weightOf(INITIAL_EASE_FACTOR));
+            }
+        });
+    }
+
+    void reweigh(String studySessionId, String flashcardId, double easeFactor) {
+        afterCommit(() -> {
+            FlashcardDeck deck = decks.getIfPresent(studySessionId);
+            if (deck != null) {
+                deck.reweigh(flashcardId, weightOf(easeFactor));
+            }
+        });
+    }
+
+    void remove(String studySessionId, String flashcardId) {
+        FlashcardDeck deck = decks.getIfPresent(studySessionId);
+        if (deck != null) {
+            deck.remove(flashcardId);
+        }
+    }
+
+    static double weightOf(double easeFactor) {
+        return INITIAL_EASE_FACTOR / easeFactor;
+    }
+
+    private static FlashcardDeck deckOf(List<CardEase> cards) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        cards.forEach(card -> weights.put(card.getFlashcardId(),
+                weightOf(card.getEaseFactor() == null ? INITIAL_EASE_FACTOR : card.getEaseFactor())));
+        return new FlashcardDeck(weights);
+    }
+
+}
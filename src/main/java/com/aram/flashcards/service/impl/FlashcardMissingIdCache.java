@@ -0,0 +1,20 @@
+package com.aram.flashcards.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+class FlashcardMissingIdCache extends MissingIdCache {
+
+    @Autowired
+    FlashcardMissingIdCache(MeterRegistry meterRegistry,
+                            @Value("${flashcards.cache.flashcards.missing-ids.maximum-size:10000}") long maximumSize,
+                            @Value("${flashcards.cache.flashcards.missing-ids.time-to-live:30s}") Duration timeToLive) {
+        super("flashcards.missing-ids", meterRegistry, maximumSize, timeToLive);
+    }
+
+}
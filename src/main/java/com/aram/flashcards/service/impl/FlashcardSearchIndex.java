@@ -0,0 +1,192 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.service.dto.FlashcardSearchHit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static com.aram.flashcards.service.impl.TextFolding.fold;
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCommit;
+
+@Component
+class FlashcardSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<FlashcardSearchHit> BY_SCORE = Comparator
+            .comparingDouble(FlashcardSearchHit::getScore)
+            .thenComparing(hit -> hit.getFlashcard().getId(), Comparator.reverseOrder());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final Map<String, Document> documents = new HashMap<>();
+    private long totalLength;
+    private boolean loaded;
+
+    List<FlashcardSearchHit> search(String query, String studySessionId, int limit, Consumer<Consumer<Flashcard>> loader) {
+        ensureLoaded(loader);
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = new HashMap<>();
+            double averageLength = documents.isEmpty() ? 0 : (double) totalLength / documents.size();
+            for (String term : terms) {
+                Map<String, Integer> frequencies = postings.get(term);
+                if (frequencies == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents.size() - frequencies.size() + 0.5) / (frequencies.size() + 0.5));
+                frequencies.forEach((id, frequency) -> {
+                    Document document = documents.get(id);
+                    if (studySessionId != null && !studySessionId.equals(document.flashcard.getStudySessionId())) {
+                        return;
+                    }
+                    double norm = K1 * (1 - B + B * document.length / averageLength);
+                    scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(Flashcard flashcard) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    index(flashcard);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    void remove(String id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    void removeAllByStudySessionId(String studySessionId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                documents.values().stream()
+                        .filter(document -> document.flashcard.getStudySessionId().equals(studySessionId))
+                        .map(document -> document.flashcard.getId())
+                        .toList()
+                        .forEach(this::unindex);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    void invalidate() {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                documents.clear();
+                totalLength = 0;
+                loaded = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void ensureLoaded(Consumer<Consumer<Flashcard>> loader) {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                loader.accept(this::index);
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Flashcard flashcard) {
+        unindex(flashcard.getId());
+        List<String> tokens = tokenize(flashcard.getQuestion() + " " + flashcard.getAnswer());
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(flashcard.getId(), frequency));
+        documents.put(flashcard.getId(), new Document(flashcard, tokens.size(), frequencies.keySet()));
+        totalLength += tokens.size();
+    }
+
+    private void unindex(String id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length;
+        for (String term : document.terms) {
+            Map<String, Integer> frequencies = postings.get(term);
+            frequencies.remove(id);
+            if (frequencies.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private List<FlashcardSearchHit> top(Map<String, Double> scores, int limit) {
+        PriorityQueue<FlashcardSearchHit> top = new PriorityQueue<>(limit + 1, BY_SCORE);
+        scores.forEach((id, score) -> {
+            top.add(new FlashcardSearchHit(documents.get(id).flashcard, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+        List<FlashcardSearchHit> hits = new ArrayList<>(top);
+        hits.sort(BY_SCORE.reversed());
+        return hits;
+    }
+
+    private record Document(Flashcard flashcard, int length, Set<String> terms) {
+    }
+
+}
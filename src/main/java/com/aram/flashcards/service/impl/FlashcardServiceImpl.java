@@ -1,33 +1,103 @@
 package com.aram.flashcards.service.impl;
 
 import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.ReviewSchedule;
 import com.aram.flashcards.repository.FlashcardRepository;
+import com.aram.flashcards.repository.ReviewScheduleRepository;
+import com.aram.flashcards.repository.Upserted;
 import com.aram.flashcards.service.FlashcardService;
 import com.aram.flashcards.service.StudySessionService;
+import com.aram.flashcards.service.dto.DuplicatePolicy;
+import com.aram.flashcards.service.dto.FlashcardBatchItem;
+import com.aram.flashcards.service.dto.FlashcardCreateResult;
+import com.aram.flashcards.service.dto.FlashcardPage;
 import com.aram.flashcards.service.dto.FlashcardRequest;
+import com.aram.flashcards.service.dto.FlashcardSearchHit;
+import com.aram.flashcards.service.dto.UpsertResult;
+import com.aram.flashcards.service.exception.ConflictException;
+import com.aram.flashcards.service.exception.BadRequestException;
+import com.aram.flashcards.service.exception.NearDuplicateException;
 import com.aram.flashcards.service.exception.NotFoundException;
+import com.aram.flashcards.service.impl.MinHashIndex.NearDuplicate;
 import com.aram.flashcards.service.mapper.FlashcardMapper;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.aram.flashcards.service.Aggregate.FLASHCARDS;
+import static com.aram.flashcards.service.dto.DuplicatePolicy.IGNORE;
+import static com.aram.flashcards.service.dto.DuplicatePolicy.REJECT;
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCommit;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 @Service
 @Transactional
 class FlashcardServiceImpl extends ValidatingService implements FlashcardService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 100;
+
+    private static final String CANNOT_FIND_STUDY_SESSION = "Cannot find study session with id = %s";
+    private static final String STALE_VERSION = "Flashcard with id = %s is not at version %s";
+
     private final FlashcardRepository flashcardRepository;
+    private final ReviewScheduleRepository reviewScheduleRepository;
     private final StudySessionService studySessionService;
     private final FlashcardMapper mapper;
+    private final EntityManager entityManager;
+    private final DueCardQueues dueCardQueues;
+    private final FlashcardMissingIdCache missingIds;
+    private final FlashcardSearchIndex searchIndex;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final FlashcardDecks flashcardDecks;
+    private final EntityCounters entityCounters;
+    private final AggregateVersions aggregateVersions;
+    private final int batchSize;
 
     @Autowired
     FlashcardServiceImpl(FlashcardRepository flashcardRepository,
+                         ReviewScheduleRepository reviewScheduleRepository,
                          StudySessionService studySessionService,
-                         FlashcardMapper mapper) {
+                         FlashcardMapper mapper,
+                         EntityManager entityManager,
+                         DueCardQueues dueCardQueues,
+                         FlashcardMissingIdCache missingIds,
+                         FlashcardSearchIndex searchIndex,
+                         NearDuplicateDetector nearDuplicateDetector,
+                         FlashcardDecks flashcardDecks,
+                         EntityCounters entityCounters,
+                         AggregateVersions aggregateVersions,
+                         @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}") int batchSize) {
         this.flashcardRepository = flashcardRepository;
+        this.reviewScheduleRepository = reviewScheduleRepository;
         this.studySessionService = studySessionService;
         this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.dueCardQueues = dueCardQueues;
+        this.missingIds = missingIds;
+        this.searchIndex = searchIndex;
+        this.nearDuplicateDetector = nearDuplicateDetector;
+        this.flashcardDecks = flashcardDecks;
+        this.entityCounters = entityCounters;
+        this.aggregateVersions = aggregateVersions;
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -37,30 +107,142 @@ class FlashcardServiceImpl extends ValidatingService implements FlashcardService
 
     @Override
     public Flashcard findById(String id) {
-        return flashcardRepository.findById(id).orElseThrow(
-                () -> new NotFoundException(format("Cannot find flashcard with id = %s", id)));
+        return missingIds.find(id, flashcardRepository::findById).orElseThrow(
+                () -> new NotFoundException("Cannot find flashcard with id = %s", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Flashcard> findAllById(Collection<String> ids) {
+        return flashcardRepository.findAllById(ids);
     }
 
     @Override
     public Flashcard createFlashcard(FlashcardRequest request) {
+        return createFlashcard(request, IGNORE).getFlashcard();
+    }
+
+    @Override
+    public FlashcardCreateResult createFlashcard(FlashcardRequest request, DuplicatePolicy duplicates) {
         validate(request);
+        Optional<NearDuplicate> nearDuplicate = duplicates == IGNORE
+                ? Optional.empty()
+                : nearDuplicateDetector.closest(request.getStudySessionId(), request.getQuestion(),
+                        flashcardRepository::findAllByStudySessionId);
+        if (duplicates == REJECT && nearDuplicate.isPresent()) {
+            throw new NearDuplicateException(format("Flashcard is a near duplicate of flashcard with id = %s",
+                    nearDuplicate.get().id()), nearDuplicate.get().id());
+        }
         Flashcard flashcard = flashcardFrom(request);
-        return flashcardRepository.save(flashcard);
+        missingIds.invalidate(flashcard.getId());
+        dueCardQueues.add(flashcard.getStudySessionId(), flashcard.getId());
+        searchIndex.put(flashcard);
+        nearDuplicateDetector.add(flashcard);
+        flashcardDecks.add(flashcard.getStudySessionId(), flashcard.getId());
+        entityCounters.flashcardsCreated(flashcard.getStudySessionId(), 1);
+        aggregateVersions.changed(FLASHCARDS);
+        return new FlashcardCreateResult(flashcardRepository.save(flashcard),
+                nearDuplicate.map(NearDuplicate::id).orElse(null));
+    }
+
+    @Override
+    public List<FlashcardBatchItem> createFlashcards(List<FlashcardRequest> requests) {
+        assertNotNull(requests);
+        Map<String, Boolean> existingStudySessions = new HashMap<>();
+        Map<String, Long> createdByStudySession = new HashMap<>();
+        List<String> createdIds = new ArrayList<>(requests.size());
+        List<FlashcardBatchItem> results = new ArrayList<>(requests.size());
+        int pending = 0;
+        for (FlashcardRequest request : requests) {
+            assertNotNull(request);
+            String studySessionId = request.getStudySessionId();
+            if (!existingStudySessions.computeIfAbsent(studySessionId, studySessionService::existsById)) {
+                results.add(FlashcardBatchItem.failed(format(CANNOT_FIND_STUDY_SESSION, studySessionId)));
+                continue;
+            }
+            Flashcard flashcard = flashcardFrom(request);
+            entityManager.persist(flashcard);
+            createdIds.add(flashcard.getId());
+            dueCardQueues.add(studySessionId, flashcard.getId());
+            searchIndex.put(flashcard);
+            nearDuplicateDetector.add(flashcard);
+            flashcardDecks.add(flashcard.getStudySessionId(), flashcard.getId());
+            createdByStudySession.merge(studySessionId, 1L, Long::sum);
+            results.add(FlashcardBatchItem.created(flashcard));
+            if (++pending == batchSize) {
+                flushBatch();
+                pending = 0;
+            }
+        }
+        flushBatch();
+        missingIds.invalidateAll(createdIds);
+        createdByStudySession.forEach(entityCounters::flashcardsCreated);
+        aggregateVersions.changed(FLASHCARDS);
+        return results;
+    }
+
+    private void flushBatch() {
+        entityManager.flush();
+        entityManager.clear();
     }
 
     @Override
     public boolean existsById(String id) {
-        return flashcardRepository.existsById(id);
+        return missingIds.exists(id, flashcardRepository::existsById);
     }
 
     @Override
-    public Flashcard save(Flashcard flashcard) {
+    public UpsertResult<Flashcard> upsert(Flashcard flashcard) {
         validate(flashcard);
-        return flashcardRepository.save(flashcard);
+        UpsertResult<Flashcard> result = flashcard.getVersion() == null
+                ? upsertLatest(flashcard)
+                : new UpsertResult<>(updateIfCurrent(flashcard), false);
+        missingIds.invalidate(flashcard.getId());
+        if (result.isCreated()) {
+            dueCardQueues.add(flashcard.getStudySessionId(), flashcard.getId());
+        } else {
+            requeue(flashcard);
+        }
+        searchIndex.put(result.getEntity());
+        nearDuplicateDetector.put(flashcard);
+        flashcardDecks.add(flashcard.getStudySessionId(), flashcard.getId());
+        entityCounters.markStale();
+        aggregateVersions.changed(FLASHCARDS);
+        return result;
+    }
+
+    private void requeue(Flashcard flashcard) {
+        Instant dueAt = reviewScheduleRepository.findById(flashcard.getId())
+                .map(ReviewSchedule::getDueAt)
+                .orElse(null);
+        dueCardQueues.reschedule(flashcard.getStudySessionId(), flashcard.getId(), dueAt);
+    }
+
+    private UpsertResult<Flashcard> upsertLatest(Flashcard flashcard) {
+        Upserted upserted = flashcardRepository.upsert(flashcard);
+        return new UpsertResult<>(flashcard.withVersion(upserted.getVersion()), upserted.isCreated());
+    }
+
+    private Flashcard updateIfCurrent(Flashcard flashcard) {
+        if (!flashcardRepository.updateIfCurrent(flashcard)) {
+            throw new ConflictException(STALE_VERSION, flashcard.getId(), flashcard.getVersion());
+        }
+        return flashcard.withVersion(flashcard.getVersion() + 1);
     }
 
     @Override
     public void deleteById(String id) {
+        searchIndex.remove(id);
+        nearDuplicateDetector.remove(id);
+        flashcardRepository.findById(id).ifPresent(flashcard -> {
+            String studySessionId = flashcard.getStudySessionId();
+            entityCounters.flashcardDeleted(studySessionId);
+            afterCommit(() -> {
+                flashcardDecks.remove(studySessionId, id);
+                dueCardQueues.remove(studySessionId, id);
+            });
+        });
+        aggregateVersions.changed(FLASHCARDS);
         flashcardRepository.deleteById(id);
     }
 
@@ -70,6 +252,79 @@ class FlashcardServiceImpl extends ValidatingService implements FlashcardService
         return flashcardRepository.findAllByStudySessionId(studySessionId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public FlashcardPage findPage(String cursor, Integer size) {
+        int pageSize = pageSizeFrom(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Flashcard> flashcards = cursor == null || cursor.isEmpty()
+                ? flashcardRepository.findAllByOrderByIdAsc(limit)
+                : flashcardRepository.findAllByIdGreaterThanOrderByIdAsc(idFrom(cursor), limit);
+        if (flashcards.size() <= pageSize) {
+            return new FlashcardPage(flashcards, null);
+        }
+        List<Flashcard> content = flashcards.subList(0, pageSize);
+        return new FlashcardPage(content, cursorFrom(content.get(pageSize - 1).getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Flashcard> consumer) {
+        try (Stream<Flashcard> flashcards = flashcardRepository.streamAll()) {
+            export(flashcards, consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllByStudySessionId(String studySessionId, Consumer<Flashcard> consumer) {
+        try (Stream<Flashcard> flashcards = flashcardRepository.streamAllByStudySessionId(studySessionId)) {
+            export(flashcards, consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FlashcardSearchHit> search(String query, String studySessionId, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        if (studySessionId != null) {
+            studySessionService.assertExistsById(studySessionId);
+        }
+        return searchIndex.search(query, studySessionId,
+                limitFrom(limit, DEFAULT_SEARCH_LIMIT, MAX_SEARCH_LIMIT), this::exportAll);
+    }
+
+    private void export(Stream<Flashcard> flashcards, Consumer<Flashcard> consumer) {
+        flashcards.forEach(flashcard -> {
+            consumer.accept(flashcard);
+            entityManager.detach(flashcard);
+        });
+    }
+
+    private int pageSizeFrom(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive, got %s", size);
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private String idFrom(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor = %s", cursor);
+        }
+    }
+
+    private String cursorFrom(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(UTF_8));
+    }
+
     private void validate(FlashcardRequest request) {
         assertNotNull(request);
         studySessionService.assertExistsById(request.getStudySessionId());
@@ -0,0 +1,127 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Flashcard;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+class MinHashIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int HASHES = BANDS * ROWS;
+    private static final int SHINGLE_LENGTH = 3;
+    private static final long[] SEEDS = new SplittableRandom(0x5DEECE66DL).longs(HASHES).toArray();
+
+    private final Map<String, int[]> signatures = new HashMap<>();
+    private final Map<Long, Set<String>> buckets = new HashMap<>();
+
+    MinHashIndex(Iterable<Flashcard> flashcards) {
+        flashcards.forEach(flashcard -> put(flashcard.getId(), flashcard.getQuestion()));
+    }
+
+    synchronized Optional<NearDuplicate> closest(String text, double threshold) {
+        int[] signature = signature(text);
+        if (signature == null) {
+            return Optional.empty();
+        }
+        Set<String> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            candidates.addAll(buckets.getOrDefault(bucketOf(signature, band), Set.of()));
+        }
+        NearDuplicate closest = null;
+        for (String candidate : candidates) {
+            double similarity = similarity(signature, signatures.get(candidate));
+            if (similarity >= threshold && (closest == null || isCloser(candidate, similarity, closest))) {
+                closest = new NearDuplicate(candidate, similarity);
+            }
+        }
+        return Optional.ofNullable(closest);
+    }
+
+    synchronized void put(String id, String text) {
+        remove(id);
+        int[] signature = signature(text);
+        if (signature == null) {
+            return;
+        }
+        signatures.put(id, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bucketOf(signature, band), key -> new HashSet<>()).add(id);
+        }
+    }
+
+    synchronized void remove(String id) {
+        int[] signature = signatures.remove(id);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long bucket = bucketOf(signature, band);
+            Set<String> ids = buckets.get(bucket);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                buckets.remove(bucket);
+            }
+        }
+    }
+
+    synchronized int size() {
+        return signatures.size();
+    }
+
+    static int[] signature(String text) {
+        String normalized = String.join(" ", FlashcardSearchIndex.tokenize(text));
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = normalized.substring(start, Math.min(normalized.length(), start + SHINGLE_LENGTH)).hashCode();
+            for (int i = 0; i < HASHES; i++) {
+                signature[i] = Math.min(signature[i], (int) (mix(shingle ^ SEEDS[i]) >>> 33));
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(int[] left, int[] right) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (left[i] == right[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private static boolean isCloser(String id, double similarity, NearDuplicate current) {
+        return similarity > current.similarity()
+                || similarity == current.similarity() && id.compareTo(current.id()) < 0;
+    }
+
+    private static long bucketOf(int[] signature, int band) {
+        long hash = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            hash = mix(hash * 31 + signature[row]);
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    record NearDuplicate(String id, double similarity) {
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.aram.flashcards.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCompletion;
+
+class MissingIdCache {
+
+    private final Cache<String, Boolean> missingIds;
+    private final AtomicLong generation = new AtomicLong();
+
+    MissingIdCache(String name, MeterRegistry meterRegistry, long maximumSize, Duration timeToLive) {
+        this.missingIds = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .<String, Boolean>build(), name);
+    }
+
+    <T> Optional<T> find(String id, Function<String, Optional<T>> loader) {
+        if (isMissing(id)) {
+            return Optional.empty();
+        }
+        long observed = generation.get();
+        Optional<T> found = loader.apply(id);
+        if (found.isEmpty()) {
+            markMissing(id, observed);
+        }
+        return found;
+    }
+
+    boolean exists(String id, Predicate<String> loader) {
+        if (isMissing(id)) {
+            return false;
+        }
+        long observed = generation.get();
+        boolean exists = loader.test(id);
+        if (!exists) {
+            markMissing(id, observed);
+        }
+        return exists;
+    }
+
+    void invalidate(String id) {
+        evict(id);
+        afterCompletion(() -> evict(id));
+    }
+
+    void invalidateAll(Collection<String> ids) {
+        evictAll(ids);
+        afterCompletion(() -> evictAll(ids));
+    }
+
+    void invalidateAll() {
+        evictAll();
+        afterCompletion(this::evictAll);
+    }
+
+    private boolean isMissing(String id) {
+        return id != null && missingIds.getIfPresent(id) != null;
+    }
+
+    private void markMissing(String id, long observed) {
+        if (id == null) {
+            return;
+        }
+        missingIds.put(id, Boolean.TRUE);
+        if (generation.get() != observed) {
+            missingIds.invalidate(id);
+        }
+    }
+
+    private void evict(String id) {
+        generation.incrementAndGet();
+        missingIds.invalidate(id);
+    }
+
+    private void evictAll(Collection<String> ids) {
+        generation.incrementAndGet();
+        missingIds.invalidateAll(ids);
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        missingIds.invalidateAll();
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.aram.flashcards.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.aram.flashcards.service.impl.TextFolding.fold;
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCommit;
+
+abstract class NameIndex<T> {
+
+    private static final Comparator<Entry<?>> BY_KEY = Comparator
+            .comparing((Entry<?> entry) -> entry.key)
+            .thenComparing(entry -> entry.id);
+
+    private final Function<T, String> ids;
+    private final Function<T, String> names;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<Entry<T>> entries;
+    private Map<String, Entry<T>> entriesById;
+
+    NameIndex(Function<T, String> ids, Function<T, String> names) {
+        this.ids = ids;
+        this.names = names;
+    }
+
+    List<T> complete(String prefix, int limit, Supplier<? extends Iterable<T>> loader) {
+        ensureLoaded(loader);
+        String key = fold(prefix);
+        lock.readLock().lock();
+        try {
+            List<T> matches = new ArrayList<>(Math.min(limit, entries.size()));
+            for (int i = slotOf(new Entry<>(key, "", null)); i < entries.size() && matches.size() < limit; i++) {
+                Entry<T> entry = entries.get(i);
+                if (!entry.key.startsWith(key)) {
+                    break;
+                }
+                matches.add(entry.value);
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(T value) {
+        afterCommit(() -> update(() -> {
+            Entry<T> entry = entryOf(value);
+            removeEntry(entry.id);
+            entries.add(slotOf(entry), entry);
+            entriesById.put(entry.id, entry);
+        }));
+    }
+
+    void remove(String id) {
+        afterCommit(() -> update(() -> removeEntry(id)));
+    }
+
+    void removeIf(Predicate<T> predicate) {
+        afterCommit(() -> update(() -> {
+            entries.removeIf(entry -> predicate.test(entry.value));
+            entriesById.values().removeIf(entry -> predicate.test(entry.value));
+        }));
+    }
+
+    private void ensureLoaded(Supplier<? extends Iterable<T>> loader) {
+        lock.readLock().lock();
+        try {
+            if (entries != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (entries == null) {
+                List<Entry<T>> loaded = new ArrayList<>();
+                Map<String, Entry<T>> loadedById = new HashMap<>();
+                loader.get().forEach(value -> {
+                    Entry<T> entry = entryOf(value);
+                    loaded.add(entry);
+                    loadedById.put(entry.id, entry);
+                });
+                loaded.sort(BY_KEY);
+                entries = loaded;
+                entriesById = loadedById;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void update(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (entries != null) {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeEntry(String id) {
+        Entry<T> existing = entriesById.remove(id);
+        if (existing != null) {
+            entries.remove(slotOf(existing));
+        }
+    }
+
+    private int slotOf(Entry<T> entry) {
+        int index = Collections.binarySearch(entries, entry, BY_KEY);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private Entry<T> entryOf(T value) {
+        return new Entry<>(fold(names.apply(value)), ids.apply(value), value);
+    }
+
+    private record Entry<T>(String key, String id, T value) {
+    }
+
+}
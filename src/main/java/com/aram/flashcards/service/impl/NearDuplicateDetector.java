@@ -0,0 +1,70 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.service.impl.MinHashIndex.NearDuplicate;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.aram.flashcards.service.impl.TransactionCallbacks.afterCommit;
+
+@Component
+class NearDuplicateDetector {
+
+    private final Cache<String, MinHashIndex> indexes;
+    private final double threshold;
+
+    @Autowired
+    NearDuplicateDetector(MeterRegistry meterRegistry,
+                          @Value("${flashcards.duplicates.threshold:0.8}") double threshold,
+                          @Value("${flashcards.cache.near-duplicates.maximum-size:1000}") long maximumSize,
+                          @Value("${flashcards.cache.near-duplicates.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.threshold = threshold;
+        this.indexes = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .<String, MinHashIndex>build(), "near-duplicates");
+    }
+
+    Optional<NearDuplicate> closest(String studySessionId, String question,
+                                    Function<String, Iterable<Flashcard>> loader) {
+        return indexes.get(studySessionId, id -> new MinHashIndex(loader.apply(id))).closest(question, threshold);
+    }
+
+    void add(Flashcard flashcard) {
+        afterCommit(() -> {
+            MinHashIndex index = indexes.getIfPresent(flashcard.getStudySessionId());
+            if (index != null) {
+                index.put(flashcard.getId(), flashcard.getQuestion());
+            }
+        });
+    }
+
+    void put(Flashcard flashcard) {
+        afterCommit(() -> {
+            indexes.asMap().forEach((studySessionId, index) -> {
+                if (!studySessionId.equals(flashcard.getStudySessionId())) {
+                    index.remove(flashcard.getId());
+                }
+            });
+            MinHashIndex index = indexes.getIfPresent(flashcard.getStudySessionId());
+            if (index != null) {
+                index.put(flashcard.getId(), flashcard.getQuestion());
+            }
+        });
+    }
+
+    void remove(String flashcardId) {
+        afterCommit(() -> indexes.asMap().values().forEach(index -> index.remove(flashcardId)));
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.aram.flashcards.service.impl;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+class ReviewEvent {
+
+    private final String flashcardId;
+
+    private final int grade;
+
+    private final Instant reviewedAt;
+
+}
@@ -0,0 +1,172 @@
+package com.aram.flashcards.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@Slf4j
+@Component
+class ReviewEventQueue implements SmartLifecycle {
+
+    private static final Duration POLL_TICK = Duration.ofMillis(50);
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final ReviewEventWriter writer;
+    private final int flushSize;
+    private final Duration flushInterval;
+    private final Duration shutdownTimeout;
+    private final Semaphore capacity;
+    private final BlockingQueue<ReviewEvent> events = new LinkedBlockingQueue<>();
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Autowired
+    ReviewEventQueue(ReviewEventWriter writer,
+                     MeterRegistry meterRegistry,
+                     @Value("${flashcards.reviews.ingestion.capacity:10000}") int capacity,
+                     @Value("${flashcards.reviews.ingestion.flush-size:500}") int flushSize,
+                     @Value("${flashcards.reviews.ingestion.flush-interval:200ms}") Duration flushInterval,
+                     @Value("${flashcards.reviews.ingestion.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.writer = writer;
+        this.flushSize = flushSize;
+        this.flushInterval = flushInterval;
+        this.shutdownTimeout = shutdownTimeout;
+        this.capacity = new Semaphore(capacity);
+        this.accepted = meterRegistry.counter("reviews.ingestion.events", "outcome", "accepted");
+        this.rejected = meterRegistry.counter("reviews.ingestion.events", "outcome", "rejected");
+        this.written = meterRegistry.counter("reviews.ingestion.events", "outcome", "written");
+        this.dropped = meterRegistry.counter("reviews.ingestion.events", "outcome", "dropped");
+        Gauge.builder("reviews.ingestion.pending", events, BlockingQueue::size).register(meterRegistry);
+    }
+
+    boolean offer(List<ReviewEvent> batch) {
+        lifecycle.readLock().lock();
+        try {
+            if (!running || !capacity.tryAcquire(batch.size())) {
+                rejected.increment(batch.size());
+                return false;
+            }
+            events.addAll(batch);
+            accepted.increment(batch.size());
+            return true;
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        flusher = Thread.ofPlatform().name("review-event-flusher").daemon().start(this::flushUntilStopped);
+    }
+
+    @Override
+    public synchronized void stop() {
+        lifecycle.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        try {
+            flusher.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!events.isEmpty()) {
+            log.warn("Dropping {} review events not flushed within {}", events.size(), shutdownTimeout);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushUntilStopped() {
+        while (running || !events.isEmpty()) {
+            try {
+                List<ReviewEvent> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<ReviewEvent> nextBatch() throws InterruptedException {
+        List<ReviewEvent> batch = new ArrayList<>(flushSize);
+        ReviewEvent first = events.poll(POLL_TICK.toNanos(), NANOSECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < flushSize && running) {
+            events.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() == flushSize || remaining <= 0) {
+                break;
+            }
+            ReviewEvent next = events.poll(Math.min(remaining, POLL_TICK.toNanos()), NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+        events.drainTo(batch, flushSize - batch.size());
+        return batch;
+    }
+
+    private void flush(List<ReviewEvent> batch) {
+        try {
+            int count = write(batch);
+            written.increment(count);
+            dropped.increment(batch.size() - count);
+        } catch (RuntimeException e) {
+            dropped.increment(batch.size());
+            log.error("Dropping batch of {} review events", batch.size(), e);
+        } finally {
+            capacity.release(batch.size());
+        }
+    }
+
+    private int write(List<ReviewEvent> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return writer.write(batch);
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.ReviewLog;
+import com.aram.flashcards.model.ReviewSchedule;
+import com.aram.flashcards.repository.ReviewScheduleRepository;
+import com.aram.flashcards.service.FlashcardService;
+import com.aram.flashcards.service.IdGenerator;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Transactional
+class ReviewEventWriter {
+
+    private final ReviewScheduleRepository reviewScheduleRepository;
+    private final FlashcardService flashcardService;
+    private final IdGenerator idGenerator;
+    private final DueCardQueues dueCardQueues;
+    private final FlashcardDecks flashcardDecks;
+    private final EntityManager entityManager;
+    private final Sm2Scheduler scheduler = new Sm2Scheduler();
+
+    @Autowired
+    ReviewEventWriter(ReviewScheduleRepository reviewScheduleRepository,
+                      FlashcardService flashcardService,
+                      IdGenerator idGenerator,
+                      DueCardQueues dueCardQueues,
+                      FlashcardDecks flashcardDecks,
+                      EntityManager entityManager) {
+        this.reviewScheduleRepository = reviewScheduleRepository;
+        this.flashcardService = flashcardService;
+        this.idGenerator = idGenerator;
+        this.dueCardQueues = dueCardQueues;
+        this.flashcardDecks = flashcardDecks;
+        this.entityManager = entityManager;
+    }
+
+    int write(List<ReviewEvent> events) {
+        Set<String> ids = events.stream().map(ReviewEvent::getFlashcardId).collect(Collectors.toSet());
+        Map<String, Flashcard> flashcards = flashcardService.findAllById(ids).stream()
+                .collect(Collectors.toMap(Flashcard::getId, Function.identity()));
+        Map<String, ReviewSchedule> stored = reviewScheduleRepository.findAllById(flashcards.keySet()).stream()
+                .collect(Collectors.toMap(ReviewSchedule::getFlashcardId, Function.identity()));
+        Map<String, ReviewSchedule> schedules = new HashMap<>(stored);
+        int written = 0;
+        for (ReviewEvent event : events) {
+            String id = event.getFlashcardId();
+            if (!flashcards.containsKey(id)) {
+                continue;
+            }
+            ReviewSchedule current = schedules.getOrDefault(id, scheduler.initial(id));
+            ReviewSchedule next = scheduler.next(current, event.getGrade(), event.getReviewedAt());
+            schedules.put(id, next);
+            entityManager.persist(new ReviewLog(
+                    idGenerator.generateId(),
+                    id,
+                    event.getGrade(),
+                    next.getEaseFactor(),
+                    next.getIntervalDays(),
+                    event.getReviewedAt()
+            ));
+            written++;
+        }
+        schedules.forEach((id, schedule) -> {
+            if (schedule == stored.get(id)) {
+                return;
+            }
+            if (stored.containsKey(id)) {
+                entityManager.merge(schedule);
+            } else {
+                entityManager.persist(schedule);
+            }
+            dueCardQueues.reschedule(flashcards.get(id).getStudySessionId(), id, schedule.getDueAt());
+            flashcardDecks.reweigh(flashcards.get(id).getStudySessionId(), id, schedule.getEaseFactor());
+        });
+        return written;
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.ReviewLog;
+import com.aram.flashcards.model.ReviewSchedule;
+import com.aram.flashcards.repository.DueCard;
+import com.aram.flashcards.repository.ReviewLogRepository;
+import com.aram.flashcards.repository.ReviewScheduleRepository;
+import com.aram.flashcards.service.FlashcardService;
+import com.aram.flashcards.service.IdGenerator;
+import com.aram.flashcards.service.ReviewService;
+import com.aram.flashcards.service.StudySessionService;
+import com.aram.flashcards.service.dto.ReviewRequest;
+import com.aram.flashcards.service.exception.NotFoundException;
+import com.aram.flashcards.service.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+class ReviewServiceImpl extends ValidatingService implements ReviewService {
+
+    static final int DEFAULT_DUE_LIMIT = 20;
+    static final int MAX_DUE_LIMIT = 500;
+    static final int DEFAULT_SAMPLE_SIZE = 20;
+    static final int MAX_SAMPLE_SIZE = 500;
+    static final int MAX_REVIEW_ATTEMPTS = 3;
+
+    private final ReviewScheduleRepository reviewScheduleRepository;
+    private final ReviewLogRepository reviewLogRepository;
+    private final FlashcardService flashcardService;
+    private final StudySessionService studySessionService;
+    private final IdGenerator idGenerator;
+    private final DueCardQueues dueCardQueues;
+    private final FlashcardDecks flashcardDecks;
+    private final ReviewEventQueue reviewEventQueue;
+    private final TransactionTemplate transactions;
+    private final Sm2Scheduler scheduler = new Sm2Scheduler();
+
+    @Autowired
+    ReviewServiceImpl(ReviewScheduleRepository reviewScheduleRepository,
+                      ReviewLogRepository reviewLogRepository,
+                      FlashcardService flashcardService,
+                      StudySessionService studySessionService,
+                      IdGenerator idGenerator,
+                      DueCardQueues dueCardQueues,
+                      FlashcardDecks flashcardDecks,
+                      ReviewEventQueue reviewEventQueue,
+                      PlatformTransactionManager transactionManager) {
+        this.reviewScheduleRepository = reviewScheduleRepository;
+        this.reviewLogRepository = reviewLogRepository;
+        this.flashcardService = flashcardService;
+        this.studySessionService = studySessionService;
+        this.idGenerator = idGenerator;
+        this.dueCardQueues = dueCardQueues;
+        this.flashcardDecks = flashcardDecks;
+        this.reviewEventQueue = reviewEventQueue;
+        this.transactions = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReviewSchedule review(ReviewRequest request) {
+        assertNotNull(request);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactions.execute(status -> reviewOnce(request));
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (attempt == MAX_REVIEW_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private ReviewSchedule reviewOnce(ReviewRequest request) {
+        Flashcard flashcard = flashcardService.findById(request.getFlashcardId());
+        Instant now = Instant.now();
+        ReviewSchedule current = reviewScheduleRepository.findById(flashcard.getId())
+                .orElseGet(() -> scheduler.initial(flashcard.getId()));
+        ReviewSchedule next = reviewScheduleRepository.saveAndFlush(scheduler.next(current, request.getGrade(), now));
+        reviewLogRepository.save(new ReviewLog(
+                idGenerator.generateId(),
+                flashcard.getId(),
+                request.getGrade(),
+                next.getEaseFactor(),
+                next.getIntervalDays(),
+                now
+        ));
+        dueCardQueues.reschedule(flashcard.getStudySessionId(), flashcard.getId(), next.getDueAt());
+        flashcardDecks.reweigh(flashcard.getStudySessionId(), flashcard.getId(), next.getEaseFactor());
+        return next;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void submit(List<ReviewRequest> requests) {
+        assertNotNull(requests);
+        Instant now = Instant.now();
+        List<ReviewEvent> events = requests.stream()
+                .map(request -> new ReviewEvent(request.getFlashcardId(), request.getGrade(), now))
+                .toList();
+        if (!reviewEventQueue.offer(events)) {
+            throw new TooManyRequestsException("Review ingestion queue is full, retry later");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Flashcard> findDue(String studySessionId, Integer limit) {
+        studySessionService.assertExistsById(studySessionId);
+        int dueLimit = limitFrom(limit, DEFAULT_DUE_LIMIT, MAX_DUE_LIMIT);
+        Instant now = Instant.now();
+        List<Flashcard> due = new ArrayList<>(dueLimit);
+        List<String> ids;
+        do {
+            ids = dueCardQueues.due(studySessionId, now, dueLimit,
+                    (until, max) -> findDueCards(studySessionId, until, max));
+            Map<String, Flashcard> flashcards = flashcardService.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Flashcard::getId, Function.identity()));
+            due.clear();
+            for (String id : ids) {
+                Flashcard flashcard = flashcards.get(id);
+                if (flashcard == null || !flashcard.getStudySessionId().equals(studySessionId)) {
+                    dueCardQueues.remove(studySessionId, id);
+                } else {
+                    due.add(flashcard);
+                }
+            }
+        } while (due.size() < ids.size());
+        return due;
+    }
+
+    private List<DueCard> findDueCards(String studySessionId, Instant until, int limit) {
+        List<DueCard> dueCards = new ArrayList<>(limit);
+        reviewScheduleRepository.findUnscheduledFlashcardIdsByStudySessionId(studySessionId, PageRequest.of(0, limit))
+                .forEach(id -> dueCards.add(new DueCard(id, null)));
+        if (dueCards.size() < limit) {
+            dueCards.addAll(reviewScheduleRepository.findDueCardsByStudySessionId(
+                    studySessionId, until, PageRequest.of(0, limit - dueCards.size())));
+        }
+        return dueCards;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Flashcard> sample(String studySessionId, Integer size, boolean weighted) {
+        studySessionService.assertExistsById(studySessionId);
+        int sampleSize = limitFrom(size, DEFAULT_SAMPLE_SIZE, MAX_SAMPLE_SIZE);
+        List<Flashcard> sample = new ArrayList<>(sampleSize);
+        List<String> ids;
+        do {
+            ids = flashcardDecks.sample(studySessionId, sampleSize, weighted,
+                    reviewScheduleRepository::findCardEasesByStudySessionId);
+            Map<String, Flashcard> flashcards = flashcardService.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Flashcard::getId, Function.identity()));
+            sample.clear();
+            for (String id : ids) {
+                Flashcard flashcard = flashcards.get(id);
+                if (flashcard == null || !flashcard.getStudySessionId().equals(studySessionId)) {
+                    flashcardDecks.remove(studySessionId, id);
+                } else {
+                    sample.add(flashcard);
+                }
+            }
+        } while (sample.size() < ids.size());
+        return sample;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewLog> findAllByFlashcardId(String flashcardId) {
+        if (!flashcardService.existsById(flashcardId)) {
+            throw new NotFoundException("Cannot find flashcard with id = %s", flashcardId);
+        }
+        return reviewLogRepository.findAllByFlashcardIdOrderByReviewedAtAsc(flashcardId);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.ReviewSchedule;
+
+import java.time.Duration;
+import java.time.Instant;
+
+class Sm2Scheduler {
+
+    static final double INITIAL_EASE_FACTOR = 2.5;
+    static final double MINIMUM_EASE_FACTOR = 1.3;
+    static final int PASSING_GRADE = 3;
+
+    ReviewSchedule initial(String flashcardId) {
+        return new ReviewSchedule(flashcardId, INITIAL_EASE_FACTOR, 0, 0, Instant.EPOCH);
+    }
+
+    ReviewSchedule next(ReviewSchedule current, int grade, Instant reviewedAt) {
+        int repetitions;
+        int intervalDays;
+        if (grade >= PASSING_GRADE) {
+            repetitions = current.getRepetitions() + 1;
+            intervalDays = switch (current.getRepetitions()) {
+                case 0 -> 1;
+                case 1 -> 6;
+                default -> (int) Math.round(current.getIntervalDays() * current.getEaseFactor());
+            };
+        } else {
+            repetitions = 0;
+            intervalDays = 1;
+        }
+        return new ReviewSchedule(
+                current.getFlashcardId(),
+                easeFactorFrom(current.getEaseFactor(), grade),
+                intervalDays,
+                repetitions,
+                reviewedAt.plus(Duration.ofDays(intervalDays)),
+                current.getVersion()
+        );
+    }
+
+    private double easeFactorFrom(double easeFactor, int grade) {
+        int miss = 5 - grade;
+        return Math.max(MINIMUM_EASE_FACTOR, easeFactor + 0.1 - miss * (0.08 + miss * 0.02));
+    }
+
+}
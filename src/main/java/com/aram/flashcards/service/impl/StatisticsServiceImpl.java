@@ -0,0 +1,57 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.repository.CategoryRepository;
+import com.aram.flashcards.repository.StudySessionRepository;
+import com.aram.flashcards.service.StatisticsService;
+import com.aram.flashcards.service.dto.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+@Transactional(readOnly = true)
+class StatisticsServiceImpl implements StatisticsService {
+
+    private final CategoryRepository categoryRepository;
+    private final StudySessionRepository studySessionRepository;
+    private final EntityCounters counters;
+
+    @Autowired
+    StatisticsServiceImpl(CategoryRepository categoryRepository,
+                          StudySessionRepository studySessionRepository,
+                          EntityCounters counters) {
+        this.categoryRepository = categoryRepository;
+        this.studySessionRepository = studySessionRepository;
+        this.counters = counters;
+    }
+
+    @Override
+    public Statistics findStatistics() {
+        if (counters.needsReconciliation()) {
+            reconcile();
+        }
+        return counters.snapshot();
+    }
+
+    @Scheduled(
+            initialDelayString = "${flashcards.statistics.reconcile-interval:PT5M}",
+            fixedDelayString = "${flashcards.statistics.reconcile-interval:PT5M}"
+    )
+    public void reconcileIfLoaded() {
+        if (counters.isLoaded()) {
+            reconcile();
+        }
+    }
+
+    private void reconcile() {
+        counters.reconcile(
+                categoryRepository.countStudySessionsByCategory(),
+                studySessionRepository.countFlashcardsByStudySession(),
+                Instant.now()
+        );
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.aram.flashcards.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+class StudySessionExistenceCache extends ExistenceCache {
+
+    @Autowired
+    StudySessionExistenceCache(MeterRegistry meterRegistry,
+                               @Value("${flashcards.cache.study-sessions.maximum-size:100000}") long maximumSize,
+                               @Value("${flashcards.cache.study-sessions.time-to-live:5m}") Duration timeToLive) {
+        super("study-sessions.existing-ids", meterRegistry, maximumSize, timeToLive);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.aram.flashcards.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+class StudySessionMissingIdCache extends MissingIdCache {
+
+    @Autowired
+    StudySessionMissingIdCache(MeterRegistry meterRegistry,
+                               @Value("${flashcards.cache.study-sessions.missing-ids.maximum-size:10000}") long maximumSize,
+                               @Value("${flashcards.cache.study-sessions.missing-ids.time-to-live:30s}") Duration timeToLive) {
+        super("study-sessions.missing-ids", meterRegistry, maximumSize, timeToLive);
+    }
+
+}
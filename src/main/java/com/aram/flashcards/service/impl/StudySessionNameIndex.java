@@ -0,0 +1,17 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.StudySession;
+import org.springframework.stereotype.Component;
+
+@Component
+class StudySessionNameIndex extends NameIndex<StudySession> {
+
+    StudySessionNameIndex() {
+        super(StudySession::getId, StudySession::getName);
+    }
+
+    void removeAllByCategoryId(String categoryId) {
+        removeIf(studySession -> studySession.getCategoryId().equals(categoryId));
+    }
+
+}
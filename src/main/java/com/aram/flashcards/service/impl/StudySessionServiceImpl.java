@@ -2,33 +2,60 @@ package com.aram.flashcards.service.impl;
 
 import com.aram.flashcards.model.StudySession;
 import com.aram.flashcards.repository.StudySessionRepository;
+import com.aram.flashcards.repository.Upserted;
 import com.aram.flashcards.service.CategoryService;
 import com.aram.flashcards.service.StudySessionService;
 import com.aram.flashcards.service.dto.StudySessionRequest;
+import com.aram.flashcards.service.dto.UpsertResult;
+import com.aram.flashcards.service.exception.ConflictException;
 import com.aram.flashcards.service.exception.NotFoundException;
 import com.aram.flashcards.service.mapper.StudySessionMapper;
-import com.fasterxml.jackson.annotation.JacksonInject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import static java.lang.String.format;
+import java.util.List;
+
+import static com.aram.flashcards.service.Aggregate.FLASHCARDS;
+import static com.aram.flashcards.service.Aggregate.STUDY_SESSIONS;
 
 @Service
 @Transactional
 class StudySessionServiceImpl extends ValidatingService implements StudySessionService {
 
+    static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+    static final int MAX_AUTOCOMPLETE_LIMIT = 100;
+    private static final String STALE_VERSION = "Study session with id = %s is not at version %s";
+
     private final StudySessionRepository studySessionRepository;
     private final CategoryService categoryService;
     private final StudySessionMapper studySessionMapper;
+    private final StudySessionExistenceCache existenceCache;
+    private final StudySessionMissingIdCache missingIds;
+    private final FlashcardSearchIndex flashcardSearchIndex;
+    private final StudySessionNameIndex nameIndex;
+    private final EntityCounters entityCounters;
+    private final AggregateVersions aggregateVersions;
 
     @Autowired
     StudySessionServiceImpl(StudySessionRepository studySessionRepository,
                             CategoryService categoryService,
-                            StudySessionMapper studySessionMapper) {
+                            StudySessionMapper studySessionMapper,
+                            StudySessionExistenceCache existenceCache,
+                            StudySessionMissingIdCache missingIds,
+                            FlashcardSearchIndex flashcardSearchIndex,
+                            StudySessionNameIndex nameIndex,
+                            EntityCounters entityCounters,
+                            AggregateVersions aggregateVersions) {
         this.studySessionRepository = studySessionRepository;
         this.categoryService = categoryService;
         this.studySessionMapper = studySessionMapper;
+        this.existenceCache = existenceCache;
+        this.missingIds = missingIds;
+        this.flashcardSearchIndex = flashcardSearchIndex;
+        this.nameIndex = nameIndex;
+        this.entityCounters = entityCounters;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @Override
@@ -38,38 +65,66 @@ class StudySessionServiceImpl extends ValidatingService implements StudySessionS
 
     @Override
     public StudySession findById(String id) {
-        return studySessionRepository.findById(id).orElseThrow(
-                () -> new NotFoundException(format("Cannot find study session with id = %s", id)));
+        return missingIds.find(id, studySessionRepository::findById).orElseThrow(
+                () -> new NotFoundException("Cannot find study session with id = %s", id));
     }
 
     @Override
     public StudySession createStudySession(StudySessionRequest request) {
         validate(request);
         StudySession studySession = studySessionFrom(request);
+        missingIds.invalidate(studySession.getId());
+        nameIndex.put(studySession);
+        entityCounters.studySessionCreated(studySession.getId(), studySession.getCategoryId());
+        aggregateVersions.changed(STUDY_SESSIONS);
         return studySessionRepository.save(studySession);
     }
 
     @Override
-    public StudySession save(StudySession studySession) {
+    public UpsertResult<StudySession> upsert(StudySession studySession) {
         validate(studySession);
-        return studySessionRepository.save(studySession);
+        UpsertResult<StudySession> result = studySession.getVersion() == null
+                ? upsertLatest(studySession)
+                : new UpsertResult<>(updateIfCurrent(studySession), false);
+        missingIds.invalidate(studySession.getId());
+        nameIndex.put(result.getEntity());
+        entityCounters.markStale();
+        aggregateVersions.changed(STUDY_SESSIONS);
+        return result;
+    }
+
+    private UpsertResult<StudySession> upsertLatest(StudySession studySession) {
+        Upserted upserted = studySessionRepository.upsert(studySession);
+        return new UpsertResult<>(studySession.withVersion(upserted.getVersion()), upserted.isCreated());
+    }
+
+    private StudySession updateIfCurrent(StudySession studySession) {
+        if (!studySessionRepository.updateIfCurrent(studySession)) {
+            throw new ConflictException(STALE_VERSION, studySession.getId(), studySession.getVersion());
+        }
+        return studySession.withVersion(studySession.getVersion() + 1);
     }
 
     @Override
     public boolean existsById(String id) {
-        return studySessionRepository.existsById(id);
+        return missingIds.exists(id, missing -> existenceCache.exists(missing, studySessionRepository::existsById));
     }
 
     @Override
     public void deleteById(String id) {
         assertExistsById(id);
+        existenceCache.invalidate(id);
+        flashcardSearchIndex.removeAllByStudySessionId(id);
+        nameIndex.remove(id);
+        entityCounters.studySessionDeleted(id);
+        aggregateVersions.changed(STUDY_SESSIONS, FLASHCARDS);
         studySessionRepository.deleteById(id);
     }
 
     @Override
     public void assertExistsById(String id) {
         if (!existsById(id)) {
-            throw new NotFoundException(format("Cannot find study session with id = %s", id));
+            throw new NotFoundException("Cannot find study session with id = %s", id);
         }
     }
 
@@ -84,9 +139,16 @@ class StudySessionServiceImpl extends ValidatingService implements StudySessionS
         return studySessionRepository.findAllByCategoryId(categoryId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudySession> autocomplete(String prefix, Integer limit) {
+        return nameIndex.complete(prefix, limitFrom(limit, DEFAULT_AUTOCOMPLETE_LIMIT, MAX_AUTOCOMPLETE_LIMIT),
+                studySessionRepository::findAll);
+    }
+
     private StudySession findByName(String name) {
         return studySessionRepository.findByName(name)
-                .orElseThrow(() -> new NotFoundException(format("Cannot find study session with name = %s", name)));
+                .orElseThrow(() -> new NotFoundException("Cannot find study session with name = %s", name));
     }
 
     private void validate(StudySession studySession) {
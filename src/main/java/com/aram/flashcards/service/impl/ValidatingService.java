@@ -10,4 +10,14 @@ abstract class ValidatingService {
         }
     }
 
+    int limitFrom(Integer limit, int defaultLimit, int maxLimit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive, got %s", limit);
+        }
+        return Math.min(limit, maxLimit);
+    }
+
 }
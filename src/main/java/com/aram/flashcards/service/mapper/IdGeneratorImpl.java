@@ -1,11 +1,13 @@
 package com.aram.flashcards.service.mapper;
 
 import com.aram.flashcards.service.IdGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import static java.util.UUID.randomUUID;
 
 @Component
+@ConditionalOnProperty(name = "flashcards.id.strategy", havingValue = "random", matchIfMissing = true)
 class IdGeneratorImpl implements IdGenerator {
 
     @Override
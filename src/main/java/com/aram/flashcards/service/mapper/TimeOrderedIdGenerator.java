@@ -0,0 +1,47 @@
+package com.aram.flashcards.service.mapper;
+
+import com.aram.flashcards.service.IdGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Component
+@ConditionalOnProperty(name = "flashcards.id.strategy", havingValue = "time-ordered")
+class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+    private final LongSupplier clock;
+
+    TimeOrderedIdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    TimeOrderedIdGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String generateId() {
+        long timestampAndSequence = nextTimestampAndSequence();
+        long timestamp = timestampAndSequence >>> SEQUENCE_BITS;
+        long sequence = timestampAndSequence & ((1L << SEQUENCE_BITS) - 1);
+        long mostSignificantBits = (timestamp << 16) | VERSION | sequence;
+        long leastSignificantBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    private long nextTimestampAndSequence() {
+        long now = clock.getAsLong() << SEQUENCE_BITS;
+        return lastTimestampAndSequence.updateAndGet(last -> Math.max(now, last + 1));
+    }
+
+}
@@ -0,0 +1,52 @@
+-- Converts an existing database created by schema.sql to the layout of
+-- schema-binary-ids.sql, keeping all rows. Every id must be a canonical UUID.
+-- Run it once, with the application stopped, before starting it with the
+-- binary-ids profile.
+
+ALTER TABLE review_log DROP FOREIGN KEY review_log_ibfk_1;
+ALTER TABLE review_schedule DROP FOREIGN KEY review_schedule_ibfk_1;
+ALTER TABLE flashcard DROP FOREIGN KEY flashcard_ibfk_1;
+ALTER TABLE study_session DROP FOREIGN KEY study_session_ibfk_1;
+
+ALTER TABLE category ADD COLUMN id_bin BINARY(16);
+UPDATE category SET id_bin = UUID_TO_BIN(id);
+ALTER TABLE category DROP PRIMARY KEY, DROP COLUMN id;
+ALTER TABLE category CHANGE id_bin id BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (id);
+
+ALTER TABLE study_session ADD COLUMN id_bin BINARY(16), ADD COLUMN category_id_bin BINARY(16);
+UPDATE study_session SET id_bin = UUID_TO_BIN(id), category_id_bin = UUID_TO_BIN(category_id);
+ALTER TABLE study_session DROP PRIMARY KEY, DROP COLUMN id, DROP COLUMN category_id;
+ALTER TABLE study_session
+    CHANGE id_bin id BINARY(16) NOT NULL FIRST,
+    CHANGE category_id_bin category_id BINARY(16) NOT NULL AFTER id,
+    ADD PRIMARY KEY (id);
+
+ALTER TABLE flashcard ADD COLUMN id_bin BINARY(16), ADD COLUMN study_session_id_bin BINARY(16);
+UPDATE flashcard SET id_bin = UUID_TO_BIN(id), study_session_id_bin = UUID_TO_BIN(study_session_id);
+ALTER TABLE flashcard DROP PRIMARY KEY, DROP COLUMN id, DROP COLUMN study_session_id;
+ALTER TABLE flashcard
+    CHANGE id_bin id BINARY(16) NOT NULL FIRST,
+    CHANGE study_session_id_bin study_session_id BINARY(16) NOT NULL AFTER id,
+    ADD PRIMARY KEY (id);
+
+ALTER TABLE review_schedule ADD COLUMN flashcard_id_bin BINARY(16);
+UPDATE review_schedule SET flashcard_id_bin = UUID_TO_BIN(flashcard_id);
+ALTER TABLE review_schedule DROP PRIMARY KEY, DROP COLUMN flashcard_id;
+ALTER TABLE review_schedule CHANGE flashcard_id_bin flashcard_id BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (flashcard_id);
+
+ALTER TABLE review_log ADD COLUMN id_bin BINARY(16), ADD COLUMN flashcard_id_bin BINARY(16);
+UPDATE review_log SET id_bin = UUID_TO_BIN(id), flashcard_id_bin = UUID_TO_BIN(flashcard_id);
+ALTER TABLE review_log DROP PRIMARY KEY, DROP COLUMN id, DROP COLUMN flashcard_id;
+ALTER TABLE review_log
+    CHANGE id_bin id BINARY(16) NOT NULL FIRST,
+    CHANGE flashcard_id_bin flashcard_id BINARY(16) NOT NULL AFTER id,
+    ADD PRIMARY KEY (id);
+
+ALTER TABLE study_session ADD FOREIGN KEY (category_id) REFERENCES category(id)
+    ON DELETE CASCADE ON UPDATE CASCADE;
+ALTER TABLE flashcard ADD FOREIGN KEY (study_session_id) REFERENCES study_session(id)
+    ON DELETE CASCADE ON UPDATE CASCADE;
+ALTER TABLE review_schedule ADD FOREIGN KEY (flashcard_id) REFERENCES flashcard(id)
+    ON DELETE CASCADE ON UPDATE CASCADE;
+ALTER TABLE review_log ADD FOREIGN KEY (flashcard_id) REFERENCES flashcard(id)
+    ON DELETE CASCADE ON UPDATE CASCADE;
@@ -0,0 +1,8 @@
+-- Adds the optimistic locking version column to an existing database created
+-- before it was introduced. Existing rows start at version 0. Works for both
+-- schema.sql and schema-binary-ids.sql layouts.
+
+ALTER TABLE category ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER name;
+ALTER TABLE study_session ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER name;
+ALTER TABLE flashcard ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER answer;
+ALTER TABLE review_schedule ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER due_at;
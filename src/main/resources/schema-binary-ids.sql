@@ -0,0 +1,55 @@
+DROP TABLE IF EXISTS review_log;
+DROP TABLE IF EXISTS review_schedule;
+DROP TABLE IF EXISTS flashcard;
+DROP TABLE IF EXISTS study_session;
+DROP TABLE IF EXISTS category;
+
+CREATE TABLE category(
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    name VARCHAR(30) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT name_unique UNIQUE (name)
+);
+
+CREATE TABLE study_session(
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    category_id BINARY(16) NOT NULL,
+    name VARCHAR(30) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (category_id) REFERENCES category(id)
+        ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+CREATE TABLE flashcard(
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    study_session_id BINARY(16) NOT NULL,
+    question VARCHAR(200) NOT NULL,
+    answer VARCHAR(300) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (study_session_id) REFERENCES study_session(id)
+        ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+CREATE TABLE review_schedule(
+    flashcard_id BINARY(16) NOT NULL PRIMARY KEY,
+    ease_factor DOUBLE NOT NULL,
+    interval_days INT NOT NULL,
+    repetitions INT NOT NULL,
+    due_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (flashcard_id) REFERENCES flashcard(id)
+        ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+CREATE INDEX review_schedule_due_at ON review_schedule(due_at);
+
+CREATE TABLE review_log(
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    flashcard_id BINARY(16) NOT NULL,
+    grade INT NOT NULL,
+    ease_factor DOUBLE NOT NULL,
+    interval_days INT NOT NULL,
+    reviewed_at DATETIME(6) NOT NULL,
+    FOREIGN KEY (flashcard_id) REFERENCES flashcard(id)
+        ON DELETE CASCADE ON UPDATE CASCADE
+);
@@ -0,0 +1,298 @@
+package com.aram.flashcards.benchmark;
+
+import com.aram.flashcards.FlashcardsApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.net.http.HttpRequest.BodyPublishers.ofString;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Tag("benchmark")
+class LoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+    private static final File REPORT = new File(System.getProperty("loadtest.report", "target/load-test-report.json"));
+
+    private static final String CATEGORIES = "/api/v1/categories";
+    private static final String STUDY_SESSIONS = "/api/v1/study-sessions";
+    private static final String FLASHCARDS = "/api/v1/flashcards";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final AtomicLong names = new AtomicLong();
+
+    private final Ids categoryIds = new Ids();
+    private final Ids studySessionIds = new Ids();
+    private final Ids flashcardIds = new Ids();
+
+    private final List<Scenario> scenarios = List.of(
+            new Scenario("GET " + CATEGORIES, 5, uri -> get(uri, CATEGORIES)),
+            new Scenario("GET " + CATEGORIES + "/{id}", 10, uri -> get(uri, CATEGORIES + "/" + categoryIds.random())),
+            new Scenario("POST " + CATEGORIES, 2, uri -> post(uri, CATEGORIES, json("name", name()))),
+            new Scenario("GET " + STUDY_SESSIONS + "/{id}", 10, uri -> get(uri, STUDY_SESSIONS + "/" + studySessionIds.random())),
+            new Scenario("GET " + STUDY_SESSIONS + "/details", 10,
+                    uri -> get(uri, STUDY_SESSIONS + "/details?categoryId=" + categoryIds.random())),
+            new Scenario("POST " + STUDY_SESSIONS, 3,
+                    uri -> post(uri, STUDY_SESSIONS, json("categoryId", categoryIds.random()).put("name", name()))),
+            new Scenario("GET " + FLASHCARDS + "/{id}", 25, uri -> get(uri, FLASHCARDS + "/" + flashcardIds.random())),
+            new Scenario("GET " + FLASHCARDS + "/details", 10,
+                    uri -> get(uri, FLASHCARDS + "/details?studySessionId=" + studySessionIds.random())),
+            new Scenario("GET " + FLASHCARDS + "/page", 10, uri -> get(uri, FLASHCARDS + "/page?size=20")),
+            new Scenario("POST " + FLASHCARDS, 10, uri -> post(uri, FLASHCARDS, flashcard())),
+            new Scenario("PUT " + FLASHCARDS, 5, uri -> put(uri, FLASHCARDS, flashcard().put("id", flashcardIds.random())))
+    );
+
+    @Test
+    void drivesMixedWorkloadAndWritesReport() throws Exception {
+        try (var context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(FlashcardsApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=")) {
+            URI base = URI.create("http://localhost:" + context.getWebServer().getPort());
+            seed(base);
+            drive(base, WARMUP);
+            Map<String, Samples> samples = drive(base, DURATION);
+            Report report = report(samples);
+            REPORT.getParentFile().mkdirs();
+            objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT, report);
+            System.out.println(objectMapper.writeValueAsString(report));
+            assertFalse(report.getEndpoints().isEmpty());
+        }
+    }
+
+    private void seed(URI base) throws Exception {
+        categoryIds.addAll(send(get(base, CATEGORIES)));
+        studySessionIds.addAll(send(get(base, STUDY_SESSIONS)));
+        flashcardIds.addAll(send(get(base, FLASHCARDS)));
+    }
+
+    private JsonNode send(HttpRequest request) throws Exception {
+        return objectMapper.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private Map<String, Samples> drive(URI base, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        int totalWeight = scenarios.stream().mapToInt(Scenario::getWeight).sum();
+        Map<String, Samples> merged = new TreeMap<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Map<String, Samples>>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(clients.submit(() -> {
+                    Map<String, Samples> samples = new HashMap<>();
+                    while (System.nanoTime() < deadline) {
+                        Scenario scenario = pick(totalWeight);
+                        execute(base, scenario, samples.computeIfAbsent(scenario.getName(), name -> new Samples()));
+                    }
+                    return samples;
+                }));
+            }
+            for (Future<Map<String, Samples>> result : results) {
+                result.get().forEach((name, samples) -> merged.computeIfAbsent(name, n -> new Samples()).addAll(samples));
+            }
+        }
+        return merged;
+    }
+
+    private Scenario pick(int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            roll -= scenario.getWeight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("no scenario for roll");
+    }
+
+    private void execute(URI base, Scenario scenario, Samples samples) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(scenario.getRequest().apply(base), HttpResponse.BodyHandlers.ofString());
+            samples.add(System.nanoTime() - start, response.statusCode() >= 400);
+            if (response.statusCode() == 201) {
+                remember(scenario, objectMapper.readTree(response.body()).path("id").asText());
+            }
+        } catch (Exception e) {
+            samples.add(System.nanoTime() - start, true);
+        }
+    }
+
+    private void remember(Scenario scenario, String id) {
+        if (scenario.getName().equals("POST " + CATEGORIES)) {
+            categoryIds.add(id);
+        } else if (scenario.getName().equals("POST " + STUDY_SESSIONS)) {
+            studySessionIds.add(id);
+        } else if (scenario.getName().equals("POST " + FLASHCARDS)) {
+            flashcardIds.add(id);
+        }
+    }
+
+    private Report report(Map<String, Samples> samples) {
+        double seconds = DURATION.toNanos() / 1e9;
+        List<EndpointReport> endpoints = new ArrayList<>();
+        samples.forEach((name, endpointSamples) -> endpoints.add(endpointSamples.report(name, seconds)));
+        long requests = endpoints.stream().mapToLong(EndpointReport::getRequests).sum();
+        long errors = endpoints.stream().mapToLong(EndpointReport::getErrors).sum();
+        return new Report(CLIENTS, DURATION.toSeconds(), requests, errors, requests / seconds, endpoints);
+    }
+
+    private HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET().build();
+    }
+
+    private HttpRequest post(URI base, String path, ObjectNode body) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest put(URI base, String path, ObjectNode body) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", "application/json")
+                .PUT(ofString(body.toString()))
+                .build();
+    }
+
+    private ObjectNode flashcard() {
+        return json("studySessionId", studySessionIds.random())
+                .put("question", "Question " + names.incrementAndGet() + "?")
+                .put("answer", "Answer");
+    }
+
+    private ObjectNode json(String field, String value) {
+        return objectMapper.createObjectNode().put(field, value);
+    }
+
+    private String name() {
+        return "load-" + names.incrementAndGet();
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Scenario {
+        private final String name;
+        private final int weight;
+        private final Function<URI, HttpRequest> request;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Report {
+        private final int clients;
+        private final long durationSeconds;
+        private final long requests;
+        private final long errors;
+        private final double throughput;
+        private final List<EndpointReport> endpoints;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class EndpointReport {
+        private final String endpoint;
+        private final long requests;
+        private final long errors;
+        private final double throughput;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double p999Millis;
+        private final double maxMillis;
+    }
+
+    private static class Ids {
+
+        private final List<String> ids = new ArrayList<>();
+
+        synchronized void add(String id) {
+            ids.add(id);
+        }
+
+        synchronized void addAll(JsonNode entities) {
+            entities.forEach(entity -> ids.add(entity.path("id").asText()));
+        }
+
+        synchronized String random() {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+    }
+
+    private static class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long latency, boolean error) {
+            if (error) {
+                errors++;
+            }
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latency;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        EndpointReport report(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new EndpointReport(endpoint, size, errors, size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    millis(sorted[sorted.length - 1]));
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return millis(sorted[Math.max(0, index)]);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) MILLISECONDS.toNanos(1);
+        }
+
+    }
+
+}
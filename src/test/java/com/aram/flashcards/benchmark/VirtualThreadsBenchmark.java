@@ -0,0 +1,76 @@
+package com.aram.flashcards.benchmark;
+
+import com.aram.flashcards.FlashcardsApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class VirtualThreadsBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requests", 50);
+    private static final int TOMCAT_THREADS = Integer.getInteger("benchmark.tomcat-threads", 50);
+    private static final String PATH = "/api/v1/flashcards/page?size=20";
+
+    @Test
+    void comparesThroughputOfPlatformAndVirtualThreads() throws Exception {
+        double platform = throughput(false);
+        double virtual = throughput(true);
+        System.out.printf("platform threads: %.0f req/s%n", platform);
+        System.out.printf("virtual threads:  %.0f req/s%n", virtual);
+        System.out.printf("speedup:          %.2fx%n", virtual / platform);
+    }
+
+    private double throughput(boolean virtualThreads) throws Exception {
+        try (var context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(FlashcardsApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--server.tomcat.accept-count=" + CLIENTS)) {
+            URI uri = URI.create("http://localhost:" + context.getWebServer().getPort() + PATH);
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            run(client, uri, Math.max(1, REQUESTS_PER_CLIENT / 10));
+            long start = System.nanoTime();
+            int requests = run(client, uri, REQUESTS_PER_CLIENT);
+            return requests / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private int run(HttpClient client, URI uri, int requestsPerClient) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(clients.submit(() -> {
+                    for (int j = 0; j < requestsPerClient; j++) {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        assertEquals(200, response.statusCode());
+                    }
+                    return requestsPerClient;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            return total;
+        }
+    }
+
+}
@@ -1,8 +1,14 @@
 package com.aram.flashcards.controller;
 
 import com.aram.flashcards.model.Category;
+import com.aram.flashcards.model.Flashcard;
 import com.aram.flashcards.service.CategoryService;
+import com.aram.flashcards.service.CategoryTreeService;
+import com.aram.flashcards.service.VersionService;
 import com.aram.flashcards.service.dto.CategoryRequest;
+import com.aram.flashcards.service.dto.CategoryTree;
+import com.aram.flashcards.service.dto.StudySessionTree;
+import com.aram.flashcards.service.dto.UpsertResult;
 import com.aram.flashcards.service.exception.ConflictException;
 import com.aram.flashcards.service.exception.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,16 +17,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.Set;
 
+import static com.aram.flashcards.service.Aggregate.CATEGORIES;
+import static com.aram.flashcards.service.Aggregate.FLASHCARDS;
+import static com.aram.flashcards.service.Aggregate.STUDY_SESSIONS;
 import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CategoryController.class)
@@ -32,6 +48,12 @@ public class CategoryControllerTest extends WebLayerTest {
     @MockBean
     private CategoryService categoryService;
 
+    @MockBean
+    private CategoryTreeService categoryTreeService;
+
+    @MockBean
+    private VersionService versionService;
+
     @Autowired
     MockMvc mockMvc;
 
@@ -75,6 +97,29 @@ public class CategoryControllerTest extends WebLayerTest {
                 .andExpect(content().json("{'error':'Cannot find category with id = 1'}"));
     }
 
+    @Test
+    void findsCategoryTreeById() throws Exception {
+        CategoryTree tree = new CategoryTree("1", "Music", List.of(new StudySessionTree("2", "Scales", List.of(
+                new Flashcard("3", "2", "How many notes in a major scale?", "Seven")
+        ))));
+        when(categoryTreeService.findTreeById("1")).thenReturn(tree);
+
+        mockMvc.perform(get(categoriesPath + "/1/tree")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(serialize(tree)));
+    }
+
+    @Test
+    void returnsNotFoundWhenCategoryTreeDoesNotExist() throws Exception {
+        when(categoryTreeService.findTreeById("1")).thenThrow(new NotFoundException("Cannot find category with id = 1"));
+
+        mockMvc.perform(get(categoriesPath + "/1/tree")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().json("{'error':'Cannot find category with id = 1'}"));
+    }
+
     @Test
     void findsCategoryByName() throws Exception {
         when(categoryService.findByName("Music")).thenReturn(new Category("1", "Music"));
@@ -85,6 +130,16 @@ public class CategoryControllerTest extends WebLayerTest {
                 .andExpect(content().json("{'id':'1','name':'Music'}"));
     }
 
+    @Test
+    void autocompletesCategoryNames() throws Exception {
+        when(categoryService.autocomplete("mu", 5)).thenReturn(List.of(category));
+
+        mockMvc.perform(get(categoriesPath + "/autocomplete?prefix=mu&limit=5")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{'id':'1','name':'Music'}]"));
+    }
+
     @Test
     void returnsNotFoundWhenCategoryDoesNotExistByName() throws Exception {
         when(categoryService.findByName("Music"))
@@ -142,8 +197,7 @@ public class CategoryControllerTest extends WebLayerTest {
     @Test
     void updatesCategoryWithStatusCreatedWhenCategoryDoesNotExistById() throws Exception {
         Category category = new Category("1", "Jazz Music");
-        when(categoryService.existsById("1")).thenReturn(false);
-        when(categoryService.save(category)).thenReturn(category);
+        when(categoryService.upsert(category)).thenReturn(new UpsertResult<>(category, true));
 
         String requestBody = """
                 {
@@ -169,8 +223,7 @@ public class CategoryControllerTest extends WebLayerTest {
     @Test
     void updatesCategoryWithStatusOkWhenCategoryExistsById() throws Exception {
         Category category = new Category("1", "Jazz Music");
-        when(categoryService.existsById("1")).thenReturn(true);
-        when(categoryService.save(category)).thenReturn(category);
+        when(categoryService.upsert(category)).thenReturn(new UpsertResult<>(category, false));
 
         String requestBody = """
                 {
@@ -193,6 +246,85 @@ public class CategoryControllerTest extends WebLayerTest {
                 .andExpect(content().json(expectedResponseBody));
     }
 
+    @Test
+    void updatesCategoryAtVersionFromIfMatch() throws Exception {
+        Category current = new Category("1", "Jazz Music", 3L);
+        when(categoryService.upsert(current)).thenReturn(new UpsertResult<>(current.withVersion(4L), false));
+
+        mockMvc.perform(put(categoriesPath)
+                        .header(IF_MATCH, "\"3\"")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"id\":\"1\",\"name\":\"Jazz Music\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{'id':'1','name':'Jazz Music','version':4}"));
+    }
+
+    @Test
+    void returnsConflictWhenCategoryIsNotAtExpectedVersion() throws Exception {
+        Category stale = new Category("1", "Jazz Music", 2L);
+        when(categoryService.upsert(stale))
+                .thenThrow(new ConflictException("Category with id = 1 is not at version 2"));
+
+        mockMvc.perform(put(categoriesPath)
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"id\":\"1\",\"name\":\"Jazz Music\",\"version\":2}"))
+                .andExpect(status().isConflict())
+                .andExpect(content().json("{'error':'Category with id = 1 is not at version 2'}"));
+    }
+
+    @Test
+    void returnsPreconditionFailedWhenIfMatchIsNotAVersion() throws Exception {
+        mockMvc.perform(put(categoriesPath)
+                        .header(IF_MATCH, "\"abc\"")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"id\":\"1\",\"name\":\"Jazz Music\"}"))
+                .andExpect(status().isPreconditionFailed());
+        verifyNoInteractions(categoryService);
+    }
+
+    @Test
+    void returnsPreconditionFailedWhenIfMatchIsWildcardAndCategoryDoesNotExist() throws Exception {
+        when(categoryService.existsById("3")).thenReturn(false);
+
+        mockMvc.perform(put(categoriesPath)
+                        .header(IF_MATCH, "*")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"id\":\"3\",\"name\":\"Jazz Music\"}"))
+                .andExpect(status().isPreconditionFailed());
+        verify(categoryService, never()).upsert(any());
+    }
+
+    @Test
+    void updatesWithEtagReturnedByGet() throws Exception {
+        when(categoryService.findById("1")).thenReturn(category.withVersion(3L));
+        Category updated = new Category("1", "Jazz Music", 3L);
+        when(categoryService.upsert(updated)).thenReturn(new UpsertResult<>(updated.withVersion(4L), false));
+
+        String etag = mockMvc.perform(get(categoriesPath + "/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ETAG);
+        mockMvc.perform(put(categoriesPath)
+                        .header(IF_MATCH, etag)
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"id\":\"1\",\"name\":\"Jazz Music\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals("\"3\"", etag);
+        verify(categoryService, times(1)).upsert(updated);
+    }
+
+    @Test
+    void returnsConflictOnOptimisticLockingFailure() throws Exception {
+        Category category = new Category("1", "Jazz Music", 1L);
+        when(categoryService.upsert(category)).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        mockMvc.perform(put(categoriesPath)
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"id\":\"1\",\"name\":\"Jazz Music\",\"version\":1}"))
+                .andExpect(status().isConflict())
+                .andExpect(content().json("{'error':'The entity was modified concurrently, reload it and retry'}"));
+    }
+
     @Test
     void returnsBadRequestWhenRequestBodyToUpdateCategoryIsEmpty() throws Exception {
         mockMvc.perform(put(categoriesPath)
@@ -209,4 +341,62 @@ public class CategoryControllerTest extends WebLayerTest {
         verify(categoryService, times(1)).deleteById("1");
     }
 
-}
\ No newline at end of file
+    @Test
+    void returnsCategoryWithEtagOfItsVersion() throws Exception {
+        when(categoryService.findById("1")).thenReturn(category.withVersion(2L));
+
+        mockMvc.perform(get(categoriesPath + "/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, "\"2\""))
+                .andExpect(content().json("{'id':'1','name':'Music'}"));
+    }
+
+    @Test
+    void returnsNotModifiedWithoutQueryingWhenEtagMatches() throws Exception {
+        when(versionService.versionOf(CATEGORIES)).thenReturn("v1");
+
+        mockMvc.perform(get(categoriesPath).header(IF_NONE_MATCH, "\"v0\", W/\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ETAG, "\"v1\""))
+                .andExpect(content().string(""));
+        verifyNoInteractions(categoryService);
+    }
+
+    @Test
+    void returnsCategoriesWhenEtagIsStale() throws Exception {
+        when(versionService.versionOf(CATEGORIES)).thenReturn("v2");
+        when(categoryService.findAll()).thenReturn(Set.of(category));
+
+        mockMvc.perform(get(categoriesPath).header(IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, "\"v2\""))
+                .andExpect(content().json(serialize(Set.of(category))));
+    }
+
+    @Test
+    void returnsNotModifiedForWildcardEtagWhenCategoryExists() throws Exception {
+        when(categoryService.findById("1")).thenReturn(category.withVersion(0L));
+
+        mockMvc.perform(get(categoriesPath + "/1").header(IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ETAG, "\"0\""));
+    }
+
+    @Test
+    void returnsNotFoundForWildcardEtagWhenCategoryDoesNotExist() throws Exception {
+        when(categoryService.findById("3")).thenThrow(new NotFoundException("Cannot find category with id = 3"));
+
+        mockMvc.perform(get(categoriesPath + "/3").header(IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void versionsCategoryTreeByAllAggregates() throws Exception {
+        when(versionService.versionOf(CATEGORIES, STUDY_SESSIONS, FLASHCARDS)).thenReturn("v3");
+
+        mockMvc.perform(get(categoriesPath + "/1/tree").header(IF_NONE_MATCH, "\"v3\""))
+                .andExpect(status().isNotModified());
+        verifyNoInteractions(categoryTreeService);
+    }
+
+}
@@ -2,7 +2,17 @@ package com.aram.flashcards.controller;
 
 import com.aram.flashcards.model.Flashcard;
 import com.aram.flashcards.service.FlashcardService;
+import com.aram.flashcards.service.StudySessionService;
+import com.aram.flashcards.service.VersionService;
+import com.aram.flashcards.service.dto.DuplicatePolicy;
+import com.aram.flashcards.service.dto.FlashcardBatchItem;
+import com.aram.flashcards.service.dto.FlashcardBatchRequest;
+import com.aram.flashcards.service.dto.FlashcardCreateResult;
+import com.aram.flashcards.service.dto.FlashcardPage;
 import com.aram.flashcards.service.dto.FlashcardRequest;
+import com.aram.flashcards.service.dto.FlashcardSearchHit;
+import com.aram.flashcards.service.dto.UpsertResult;
+import com.aram.flashcards.service.exception.NearDuplicateException;
 import com.aram.flashcards.service.exception.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,14 +22,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
+import static com.aram.flashcards.service.Aggregate.FLASHCARDS;
+import static com.aram.flashcards.service.Aggregate.STUDY_SESSIONS;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
 @WebMvcTest(FlashcardController.class)
 public class FlashcardControllerTest extends WebLayerTest {
@@ -30,6 +48,12 @@ public class FlashcardControllerTest extends WebLayerTest {
     @MockBean
     FlashcardService flashcardService;
 
+    @MockBean
+    StudySessionService studySessionService;
+
+    @MockBean
+    private VersionService versionService;
+
     @Autowired
     MockMvc mockMvc;
 
@@ -54,6 +78,55 @@ public class FlashcardControllerTest extends WebLayerTest {
                 .andExpect(content().json(serialize(Set.of(flashcard))));
     }
 
+    @Test
+    void findsPageOfFlashcards() throws Exception {
+        FlashcardPage page = new FlashcardPage(List.of(flashcard), "MQ");
+        when(flashcardService.findPage("MA", 1)).thenReturn(page);
+
+        mockMvc.perform(get(flashcardsPath + "/page?cursor=MA&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(serialize(page)));
+    }
+
+    @Test
+    void searchesFlashcards() throws Exception {
+        List<FlashcardSearchHit> hits = List.of(new FlashcardSearchHit(flashcard, 1.5));
+        when(flashcardService.search("sky", "2", 5)).thenReturn(hits);
+
+        mockMvc.perform(get(flashcardsPath + "/search?q=sky&studySessionId=2&limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(serialize(hits)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportsAllFlashcardsAsNewlineDelimitedJson() throws Exception {
+        doAnswer(invocation -> {
+            ((Consumer<Flashcard>) invocation.getArgument(0)).accept(flashcard);
+            return null;
+        }).when(flashcardService).exportAll(any());
+
+        var result = mockMvc.perform(get(flashcardsPath + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andExpect(content().string(serialize(flashcard) + "\n"));
+    }
+
+    @Test
+    void returnsNotFoundWhenExportingFlashcardsFromNonExistentStudySession() throws Exception {
+        doThrow(new NotFoundException("Cannot find study session with id = 3"))
+                .when(studySessionService).assertExistsById("3");
+
+        mockMvc.perform(get(flashcardsPath + "/export?studySessionId=3"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().json("{'error':'Cannot find study session with id = 3'}"));
+        verify(flashcardService, never()).exportAllByStudySessionId(any(), any());
+    }
+
     @Test
     void findsCategoryByIdWhenFlashcardExistsById() throws Exception {
         when(flashcardService.findById("1")).thenReturn(flashcard);
@@ -81,6 +154,7 @@ public class FlashcardControllerTest extends WebLayerTest {
 
         mockMvc.perform(get(flashcardsPath + "/details?studySessionId=1"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
                 .andExpect(content().json(serialize(Set.of(flashcard))));
     }
 
@@ -91,15 +165,71 @@ public class FlashcardControllerTest extends WebLayerTest {
                 "What color is the sky?",
                 "Blue"
         );
-        when(flashcardService.createFlashcard(request)).thenReturn(flashcard);
+        when(flashcardService.createFlashcard(request, DuplicatePolicy.IGNORE))
+                .thenReturn(new FlashcardCreateResult(flashcard, null));
 
         mockMvc.perform(post(flashcardsPath)
                 .contentType(APPLICATION_JSON)
                 .content(serialize(request)))
                 .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(FlashcardController.NEAR_DUPLICATE_HEADER))
                 .andExpect(content().json(serialize(flashcard)));
     }
 
+    @Test
+    void createsFlashcardWithNearDuplicateWarning() throws Exception {
+        FlashcardRequest request = new FlashcardRequest("1", "What colour is the sky?", "Blue");
+        when(flashcardService.createFlashcard(request, DuplicatePolicy.WARN))
+                .thenReturn(new FlashcardCreateResult(flashcard, "7"));
+
+        mockMvc.perform(post(flashcardsPath + "?duplicates=WARN")
+                .contentType(APPLICATION_JSON)
+                .content(serialize(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(FlashcardController.NEAR_DUPLICATE_HEADER, "7"))
+                .andExpect(content().json(serialize(flashcard)));
+    }
+
+    @Test
+    void returnsConflictWithClosestFlashcardIdWhenRejectingNearDuplicate() throws Exception {
+        FlashcardRequest request = new FlashcardRequest("1", "What colour is the sky?", "Blue");
+        when(flashcardService.createFlashcard(request, DuplicatePolicy.REJECT))
+                .thenThrow(new NearDuplicateException("Flashcard is a near duplicate of flashcard with id = 7", "7"));
+
+        mockMvc.perform(post(flashcardsPath + "?duplicates=REJECT")
+                .contentType(APPLICATION_JSON)
+                .content(serialize(request)))
+                .andExpect(status().isConflict())
+                .andExpect(content().json(
+                        "{'error':'Flashcard is a near duplicate of flashcard with id = 7','duplicateId':'7'}"));
+    }
+
+    @Test
+    void createsBatchOfFlashcards() throws Exception {
+        FlashcardRequest request = new FlashcardRequest(
+                "2",
+                "What color is the sky?",
+                "Blue"
+        );
+        List<FlashcardBatchItem> results = List.of(FlashcardBatchItem.created(flashcard));
+        when(flashcardService.createFlashcards(List.of(request))).thenReturn(results);
+
+        mockMvc.perform(post(flashcardsPath + "/batch")
+                .contentType(APPLICATION_JSON)
+                .content(serialize(new FlashcardBatchRequest(List.of(request)))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(serialize(results)));
+    }
+
+    @Test
+    void returnsBadRequestWhenBatchOfFlashcardsIsEmpty() throws Exception {
+        mockMvc.perform(post(flashcardsPath + "/batch")
+                .contentType(APPLICATION_JSON)
+                .content(serialize(new FlashcardBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json("{'errors':['flashcards are required']}"));
+    }
+
     @Test
     void returnsBadRequestWhenRequestBodyToCreateFlashcardIsEmpty() throws Exception {
         mockMvc.perform(post(flashcardsPath)
@@ -115,7 +245,7 @@ public class FlashcardControllerTest extends WebLayerTest {
                 "What color is the sky?",
                 "Blue"
         );
-        when(flashcardService.createFlashcard(request))
+        when(flashcardService.createFlashcard(request, DuplicatePolicy.IGNORE))
                 .thenThrow(new NotFoundException("Study session with id = 1 does not exist"));
 
         mockMvc.perform(post(flashcardsPath)
@@ -127,8 +257,7 @@ public class FlashcardControllerTest extends WebLayerTest {
 
     @Test
     void updatesFlashcardWhenFlashcardExistsById() throws Exception {
-        when(flashcardService.existsById(flashcard.getId())).thenReturn(true);
-        when(flashcardService.save(flashcard)).thenReturn(flashcard);
+        when(flashcardService.upsert(flashcard)).thenReturn(new UpsertResult<>(flashcard, false));
 
         mockMvc.perform(put(flashcardsPath)
                 .contentType(APPLICATION_JSON)
@@ -139,8 +268,7 @@ public class FlashcardControllerTest extends WebLayerTest {
 
     @Test
     void updatesFlashcardWhenFlashcardDoesNotExistById() throws Exception {
-        when(flashcardService.existsById(flashcard.getId())).thenReturn(false);
-        when(flashcardService.save(flashcard)).thenReturn(flashcard);
+        when(flashcardService.upsert(flashcard)).thenReturn(new UpsertResult<>(flashcard, true));
 
         mockMvc.perform(put(flashcardsPath)
                         .contentType(APPLICATION_JSON)
@@ -165,8 +293,7 @@ public class FlashcardControllerTest extends WebLayerTest {
                 "What color is the sky?",
                 "Blue"
         );
-        when(flashcardService.existsById("1")).thenReturn(false);
-        when(flashcardService.save(flashcard))
+        when(flashcardService.upsert(flashcard))
                 .thenThrow(new NotFoundException("Study session with id = 2 does not exist"));
 
         mockMvc.perform(put(flashcardsPath)
@@ -184,4 +311,62 @@ public class FlashcardControllerTest extends WebLayerTest {
         verify(flashcardService, times(1)).deleteById("1");
     }
 
+    @Test
+    void returnsNotModifiedWithoutQueryingWhenEtagMatches() throws Exception {
+        when(versionService.versionOf(STUDY_SESSIONS, FLASHCARDS)).thenReturn("v1");
+
+        mockMvc.perform(get(flashcardsPath + "/details?studySessionId=1").header(IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ETAG, "\"v1\""));
+        verifyNoInteractions(flashcardService);
+    }
+
+    @Test
+    void returnsFlashcardWithEtagOfItsVersion() throws Exception {
+        when(flashcardService.findById("1")).thenReturn(flashcard.withVersion(2L));
+
+        mockMvc.perform(get(flashcardsPath + "/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, "\"2\""))
+                .andExpect(content().json(serialize(flashcard.withVersion(2L))));
+    }
+
+    @Test
+    void returnsNotModifiedWhenEtagMatchesFlashcardVersion() throws Exception {
+        when(flashcardService.findById("1")).thenReturn(flashcard.withVersion(2L));
+
+        mockMvc.perform(get(flashcardsPath + "/1").header(IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void updatesWithEtagReturnedByGet() throws Exception {
+        when(flashcardService.findById("1")).thenReturn(flashcard.withVersion(3L));
+        when(flashcardService.upsert(flashcard.withVersion(3L)))
+                .thenReturn(new UpsertResult<>(flashcard.withVersion(4L), false));
+
+        String etag = mockMvc.perform(get(flashcardsPath + "/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ETAG);
+        mockMvc.perform(put(flashcardsPath)
+                        .header(IF_MATCH, etag)
+                        .contentType(APPLICATION_JSON)
+                        .content(serialize(flashcard)))
+                .andExpect(status().isOk());
+
+        verify(flashcardService, times(1)).upsert(flashcard.withVersion(3L));
+    }
+
+    @Test
+    void returnsPreconditionFailedWhenIfMatchIsWildcardAndFlashcardDoesNotExist() throws Exception {
+        when(flashcardService.existsById("1")).thenReturn(false);
+
+        mockMvc.perform(put(flashcardsPath)
+                        .header(IF_MATCH, "*")
+                        .contentType(APPLICATION_JSON)
+                        .content(serialize(flashcard)))
+                .andExpect(status().isPreconditionFailed());
+        verify(flashcardService, never()).upsert(any());
+    }
+
 }
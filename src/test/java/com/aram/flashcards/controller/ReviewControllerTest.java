@@ -0,0 +1,146 @@
+package com.aram.flashcards.controller;
+
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.ReviewSchedule;
+import com.aram.flashcards.service.ReviewService;
+import com.aram.flashcards.service.dto.ReviewEventsRequest;
+import com.aram.flashcards.service.dto.ReviewRequest;
+import com.aram.flashcards.service.exception.BadRequestException;
+import com.aram.flashcards.service.exception.NotFoundException;
+import com.aram.flashcards.service.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReviewController.class)
+public class ReviewControllerTest extends WebLayerTest {
+
+    @Value("${spring.servlet.path.reviews}")
+    private String reviewsPath;
+
+    @MockBean
+    private ReviewService reviewService;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void findsDueFlashcards() throws Exception {
+        List<Flashcard> due = List.of(new Flashcard("1", "2", "What is the color of the sky?", "Blue"));
+        when(reviewService.findDue("2", 10)).thenReturn(due);
+
+        mockMvc.perform(get(reviewsPath + "/due?studySessionId=2&limit=10"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(serialize(due)));
+    }
+
+    @Test
+    void samplesFlashcards() throws Exception {
+        List<Flashcard> sample = List.of(new Flashcard("1", "2", "What is the color of the sky?", "Blue"));
+        when(reviewService.sample("2", 5, true)).thenReturn(sample);
+
+        mockMvc.perform(get(reviewsPath + "/sample?studySessionId=2&size=5&weighted=true"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(serialize(sample)));
+    }
+
+    @Test
+    void returnsNotFoundWhenFindingDueFlashcardsOfUnknownStudySession() throws Exception {
+        when(reviewService.findDue("2", null))
+                .thenThrow(new NotFoundException("Cannot find study session with id = 2"));
+
+        mockMvc.perform(get(reviewsPath + "/due?studySessionId=2"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void returnsBadRequestWhenFindingDueFlashcardsWithNonPositiveLimit() throws Exception {
+        when(reviewService.findDue("2", 0)).thenThrow(new BadRequestException("Limit must be positive, got 0"));
+
+        mockMvc.perform(get(reviewsPath + "/due?studySessionId=2&limit=0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void reviewsFlashcard() throws Exception {
+        ReviewRequest request = new ReviewRequest("1", 4);
+        ReviewSchedule schedule = new ReviewSchedule("1", 2.5, 1, 1, Instant.parse("2024-01-02T00:00:00Z"));
+        when(reviewService.review(request)).thenReturn(schedule);
+
+        mockMvc.perform(post(reviewsPath)
+                .contentType(APPLICATION_JSON)
+                .content(serialize(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.flashcardId").value("1"))
+                .andExpect(jsonPath("$.intervalDays").value(1))
+                .andExpect(jsonPath("$.dueAt").value("2024-01-02T00:00:00Z"));
+    }
+
+    @Test
+    void returnsBadRequestWhenGradeIsOutOfRange() throws Exception {
+        mockMvc.perform(post(reviewsPath)
+                .contentType(APPLICATION_JSON)
+                .content(serialize(new ReviewRequest("1", 6))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reviewService);
+    }
+
+    @Test
+    void returnsNotFoundWhenReviewingUnknownFlashcard() throws Exception {
+        ReviewRequest request = new ReviewRequest("1", 4);
+        when(reviewService.review(request)).thenThrow(new NotFoundException("Cannot find flashcard with id = 1"));
+
+        mockMvc.perform(post(reviewsPath)
+                .contentType(APPLICATION_JSON)
+                .content(serialize(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void acceptsReviewEvents() throws Exception {
+        List<ReviewRequest> reviews = List.of(new ReviewRequest("1", 4), new ReviewRequest("2", 1));
+
+        mockMvc.perform(post(reviewsPath + "/events")
+                .contentType(APPLICATION_JSON)
+                .content(serialize(new ReviewEventsRequest(reviews))))
+                .andExpect(status().isAccepted());
+
+        verify(reviewService, times(1)).submit(reviews);
+    }
+
+    @Test
+    void returnsTooManyRequestsWhenIngestionQueueIsFull() throws Exception {
+        List<ReviewRequest> reviews = List.of(new ReviewRequest("1", 4));
+        doThrow(new TooManyRequestsException("Review ingestion queue is full, retry later"))
+                .when(reviewService).submit(reviews);
+
+        mockMvc.perform(post(reviewsPath + "/events")
+                .contentType(APPLICATION_JSON)
+                .content(serialize(new ReviewEventsRequest(reviews))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.error").value("Review ingestion queue is full, retry later"));
+    }
+
+    @Test
+    void returnsBadRequestWhenReviewEventsAreEmpty() throws Exception {
+        mockMvc.perform(post(reviewsPath + "/events")
+                .contentType(APPLICATION_JSON)
+                .content(serialize(new ReviewEventsRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reviewService);
+    }
+
+}
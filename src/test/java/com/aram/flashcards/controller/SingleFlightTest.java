@@ -0,0 +1,134 @@
+package com.aram.flashcards.controller;
+
+import com.aram.flashcards.service.exception.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final List<Thread> waiting = new ArrayList<>();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sharesOneLoadBetweenConcurrentIdenticalCalls() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently("1", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "deck";
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("deck", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void sharesFailureBetweenConcurrentIdenticalCalls() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently("1", () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw new NotFoundException("Cannot find study session with id = %s", "1");
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            var exception = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NotFoundException.class, exception.getCause());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadsAgainOnceFlightHasLanded() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("1", () -> "deck-" + loads.incrementAndGet());
+
+        assertEquals("deck-2", singleFlight.execute("1", () -> "deck-" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void loadsAgainAfterFailure() {
+        assertThrows(NotFoundException.class, () -> singleFlight.execute("1", () -> {
+            throw new NotFoundException("Cannot find study session with id = %s", "1");
+        }));
+
+        assertEquals("deck", singleFlight.execute("1", () -> "deck"));
+    }
+
+    @Test
+    void doesNotShareLoadsOfDifferentKeys() {
+        assertEquals("2", singleFlight.execute("1", () -> singleFlight.execute("2", () -> "2")));
+    }
+
+    private List<Future<String>> callConcurrently(String key, Supplier<String> loader) throws InterruptedException {
+        CountDownLatch leading = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute(key, () -> {
+            leading.countDown();
+            return loader.get();
+        })));
+        assertTrue(leading.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                synchronized (waiting) {
+                    waiting.add(Thread.currentThread());
+                }
+                return singleFlight.execute(key, loader);
+            }));
+        }
+        awaitParked(CALLERS - 1);
+        return results;
+    }
+
+    private void awaitParked(int callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            synchronized (waiting) {
+                if (waiting.size() == callers
+                        && waiting.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                    return;
+                }
+            }
+            Thread.sleep(10);
+        }
+        fail("Callers did not join the flight in time");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.aram.flashcards.controller;
+
+import com.aram.flashcards.service.StatisticsService;
+import com.aram.flashcards.service.dto.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StatisticsController.class)
+public class StatisticsControllerTest extends WebLayerTest {
+
+    @Value("${spring.servlet.path.statistics}")
+    private String statisticsPath;
+
+    @MockBean
+    private StatisticsService statisticsService;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void findsStatistics() throws Exception {
+        when(statisticsService.findStatistics()).thenReturn(new Statistics(
+                Map.of("1", 2L),
+                Map.of("3", 4L),
+                Instant.parse("2024-05-01T10:00:00Z")
+        ));
+
+        mockMvc.perform(get(statisticsPath))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studySessionsByCategory.1").value(2))
+                .andExpect(jsonPath("$.flashcardsByStudySession.3").value(4))
+                .andExpect(jsonPath("$.reconciledAt").value("2024-05-01T10:00:00Z"));
+    }
+
+}
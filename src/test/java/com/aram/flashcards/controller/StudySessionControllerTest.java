@@ -2,7 +2,9 @@ package com.aram.flashcards.controller;
 
 import com.aram.flashcards.model.StudySession;
 import com.aram.flashcards.service.StudySessionService;
+import com.aram.flashcards.service.VersionService;
 import com.aram.flashcards.service.dto.StudySessionRequest;
+import com.aram.flashcards.service.dto.UpsertResult;
 import com.aram.flashcards.service.exception.ConflictException;
 import com.aram.flashcards.service.exception.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,12 +15,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.Set;
 
+import static com.aram.flashcards.service.Aggregate.CATEGORIES;
+import static com.aram.flashcards.service.Aggregate.STUDY_SESSIONS;
 import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(StudySessionController.class)
@@ -30,6 +39,9 @@ public class StudySessionControllerTest extends WebLayerTest {
     @MockBean
     private StudySessionService studySessionService;
 
+    @MockBean
+    private VersionService versionService;
+
     @Autowired
     MockMvc mockMvc;
 
@@ -82,6 +94,15 @@ public class StudySessionControllerTest extends WebLayerTest {
                 .andExpect(content().json(serialize(Set.of(studySession))));
     }
 
+    @Test
+    void autocompletesStudySessionNames() throws Exception {
+        when(studySessionService.autocomplete("so", null)).thenReturn(List.of(studySession));
+
+        mockMvc.perform(get(studySessionsPath + "/autocomplete?prefix=so"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(serialize(List.of(studySession))));
+    }
+
     @Test
     void createsStudySessionWhenStudySessionDoesNotExist() throws Exception {
         StudySessionRequest request = new StudySessionRequest("2", "Solar System");
@@ -130,8 +151,7 @@ public class StudySessionControllerTest extends WebLayerTest {
     @Test
     void updatesStudySessionWhenStudySessionDoesNotExist() throws Exception {
         StudySession studySession = new StudySession("1", "2", "Solar System");
-        when(studySessionService.existsById("1")).thenReturn(false);
-        when(studySessionService.save(studySession)).thenReturn(studySession);
+        when(studySessionService.upsert(studySession)).thenReturn(new UpsertResult<>(studySession, true));
 
         mockMvc.perform(put(studySessionsPath)
                         .contentType(APPLICATION_JSON)
@@ -143,8 +163,7 @@ public class StudySessionControllerTest extends WebLayerTest {
     @Test
     void updatesStudySessionWhenStudySessionExists() throws Exception {
         StudySession studySession = new StudySession("1", "2", "Solar System");
-        when(studySessionService.existsById("1")).thenReturn(true);
-        when(studySessionService.save(studySession)).thenReturn(studySession);
+        when(studySessionService.upsert(studySession)).thenReturn(new UpsertResult<>(studySession, false));
 
         mockMvc.perform(put(studySessionsPath)
                         .contentType(APPLICATION_JSON)
@@ -164,8 +183,7 @@ public class StudySessionControllerTest extends WebLayerTest {
     @Test
     void returnsConflictWhenUpdatingStudySessionWithExistentName() throws Exception {
         StudySession studySession = new StudySession("1", "2", "Solar System");
-        when(studySessionService.existsById("1")).thenReturn(false);
-        when(studySessionService.save(studySession))
+        when(studySessionService.upsert(studySession))
                 .thenThrow(new ConflictException("Study session with name = Solar System already exists"));
 
         mockMvc.perform(put(studySessionsPath)
@@ -178,8 +196,7 @@ public class StudySessionControllerTest extends WebLayerTest {
     @Test
     void returnsNotFoundWhenUpdatingStudySessionWithNonExistentCategory() throws Exception {
         StudySession studySession = new StudySession("1", "2", "Solar System");
-        when(studySessionService.existsById("1")).thenReturn(false);
-        when(studySessionService.save(studySession))
+        when(studySessionService.upsert(studySession))
                 .thenThrow(new NotFoundException("Category with id = 2 does not exist"));
 
         mockMvc.perform(put(studySessionsPath)
@@ -197,4 +214,54 @@ public class StudySessionControllerTest extends WebLayerTest {
         verify(studySessionService, times(1)).deleteById("1");
     }
 
-}
\ No newline at end of file
+    @Test
+    void returnsNotModifiedWithoutQueryingWhenEtagMatches() throws Exception {
+        when(versionService.versionOf(CATEGORIES, STUDY_SESSIONS)).thenReturn("v1");
+
+        mockMvc.perform(get(studySessionsPath + "/details?categoryId=2").header(IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ETAG, "\"v1\""));
+        verifyNoInteractions(studySessionService);
+    }
+
+    @Test
+    void returnsStudySessionWithEtagWhenEtagIsStale() throws Exception {
+        when(studySessionService.findById("1")).thenReturn(studySession.withVersion(2L));
+
+        mockMvc.perform(get(studySessionsPath + "/1").header(IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, "\"2\""))
+                .andExpect(content().json(serialize(studySession.withVersion(2L))));
+    }
+
+    @Test
+    void updatesWithEtagReturnedByGet() throws Exception {
+        when(studySessionService.findById("1")).thenReturn(studySession.withVersion(3L));
+        when(studySessionService.upsert(studySession.withVersion(3L)))
+                .thenReturn(new UpsertResult<>(studySession.withVersion(4L), false));
+
+        String etag = mockMvc.perform(get(studySessionsPath + "/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ETAG);
+        mockMvc.perform(put(studySessionsPath)
+                        .header(IF_MATCH, etag)
+                        .contentType(APPLICATION_JSON)
+                        .content(serialize(studySession)))
+                .andExpect(status().isOk());
+
+        verify(studySessionService, times(1)).upsert(studySession.withVersion(3L));
+    }
+
+    @Test
+    void returnsPreconditionFailedWhenIfMatchIsWildcardAndStudySessionDoesNotExist() throws Exception {
+        when(studySessionService.existsById("1")).thenReturn(false);
+
+        mockMvc.perform(put(studySessionsPath)
+                        .header(IF_MATCH, "*")
+                        .contentType(APPLICATION_JSON)
+                        .content(serialize(studySession)))
+                .andExpect(status().isPreconditionFailed());
+        verify(studySessionService, never()).upsert(any());
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.aram.flashcards.controller.error;
+
+import com.aram.flashcards.service.exception.NotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiExceptionHandlerBenchmark {
+
+    private static final String CANNOT_FIND_BY_ID = "Cannot find category with id = %s";
+
+    @Param({"16", "128"})
+    private int depth;
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+    private final String id = "0190b6f2-7c1a-7000-8000-000000000001";
+
+    @Benchmark
+    public ErrorResponse stackCapturingEagerMessage() {
+        try {
+            return throwAt(depth, () -> new StackCapturingNotFoundException(format(CANNOT_FIND_BY_ID, id)));
+        } catch (NotFoundException e) {
+            return handler.handle(e);
+        }
+    }
+
+    @Benchmark
+    public ErrorResponse stacklessLazyMessage() {
+        try {
+            return throwAt(depth, () -> new NotFoundException(CANNOT_FIND_BY_ID, id));
+        } catch (NotFoundException e) {
+            return handler.handle(e);
+        }
+    }
+
+    private static <T> T throwAt(int depth, Supplier<? extends RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        return throwAt(depth - 1, exception);
+    }
+
+    private static class StackCapturingNotFoundException extends NotFoundException {
+
+        private final Throwable stackTrace = new Throwable();
+
+        StackCapturingNotFoundException(String message) {
+            super(message);
+        }
+
+    }
+
+}
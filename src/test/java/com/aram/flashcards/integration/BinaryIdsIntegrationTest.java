@@ -0,0 +1,50 @@
+package com.aram.flashcards.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+@ActiveProfiles("binary-ids")
+@AutoConfigureWebTestClient
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class BinaryIdsIntegrationTest {
+
+    @Value("${spring.servlet.path.categories}")
+    private String path;
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void storesAndFindsCategoryByUuidId() {
+        client.put().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"0189abcd-ef01-7000-8000-0000000000ff\", \"name\":\"Astronomy\"}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        client.get().uri(path + "/0189abcd-ef01-7000-8000-0000000000ff")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"id\":\"0189abcd-ef01-7000-8000-0000000000ff\", \"name\":\"Astronomy\"}");
+    }
+
+    @Test
+    void returnsBadRequestWhenFindingCategoryByNonUuidId() {
+        client.get().uri(path + "/1")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().json("{\"error\":\"Id = 1 is not a valid UUID\"}");
+    }
+
+}
@@ -9,7 +9,22 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 @Sql({"/test-data.sql"})
@@ -88,6 +103,72 @@ public class CategoryIntegrationTest {
                 .expectBody().json("{'error':'Cannot find category with id = 3'}");
     }
 
+    @Test
+    void returnsNotFoundForWildcardEtagOfNonExistentCategory() {
+        client.get().uri(path + "/3")
+                .header(IF_NONE_MATCH, "*")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        client.get().uri(path + "/1")
+                .header(IF_NONE_MATCH, "*")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void findsCategoryTreeWithStudySessionsAndFlashcards() {
+        client.get().uri(path + "/1/tree")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.id").isEqualTo("1")
+                    .jsonPath("$.name").isEqualTo("Astronomy")
+                    .jsonPath("$.studySessions.length()").isEqualTo(1)
+                    .jsonPath("$.studySessions[0].name").isEqualTo("Solar system")
+                    .jsonPath("$.studySessions[0].flashcards.length()").isEqualTo(1)
+                    .jsonPath("$.studySessions[0].flashcards[0].question").isEqualTo("What kind of star is the sun?");
+    }
+
+    @Test
+    void returnsNotFoundWhenFindingTreeOfNonExistentCategory() {
+        client.get().uri(path + "/3/tree")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("{'error':'Cannot find category with id = 3'}");
+    }
+
+    @Test
+    void returnsNotModifiedUntilCategoriesChange() {
+        String etag = client.get().uri(path)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(ETAG)
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        client.get().uri(path)
+                .header(IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(ETAG, etag);
+
+        client.post().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Geology\"}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        client.get().uri(path)
+                .header(IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$[?(@.name == 'Geology')]").exists();
+    }
+
     @Test
     void findsExistentCategoryByName() {
         client.get().uri(path + "/details?name=Astronomy")
@@ -106,6 +187,49 @@ public class CategoryIntegrationTest {
                 .expectBody().json("{'error':'Cannot find category with name = Economics'}");
     }
 
+    @Test
+    void autocompletesCategoryNamesInOrder() {
+        client.get().uri(path + "/autocomplete?prefix=C")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.length()").isEqualTo(2)
+                    .jsonPath("$[0].name").isEqualTo("Chemistry")
+                    .jsonPath("$[1].name").isEqualTo("Cinema");
+    }
+
+    @Test
+    void autocompletesCreatedCategoryNames() {
+        client.get().uri(path + "/autocomplete?prefix=tou")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.length()").isEqualTo(0);
+
+        client.post().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Tourism\"}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        client.get().uri(path + "/autocomplete?prefix=tou")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$[0].name").isEqualTo("Tourism");
+    }
+
+    @Test
+    void returnsBadRequestWhenAutocompletingWithNonPositiveLimit() {
+        client.get().uri(path + "/autocomplete?prefix=C&limit=0")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void createsCategoryWhenCategoryDoesNotExistByName() {
         client.post().uri(path)
@@ -128,6 +252,37 @@ public class CategoryIntegrationTest {
                 .expectBody().json("{\"error\":\"Category with name = Music already exists\"}");
     }
 
+    @Test
+    void createsCategoryExactlyOnceUnderConcurrentRequests() throws Exception {
+        int clients = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+            for (int i = 0; i < clients; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return client.post().uri(path)
+                            .contentType(APPLICATION_JSON)
+                            .bodyValue("{\"name\":\"Geology\"}")
+                            .exchange()
+                            .returnResult(String.class)
+                            .getStatus()
+                            .value();
+                }));
+            }
+            start.countDown();
+        }
+
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (Future<Integer> status : statuses) {
+            counts.merge(status.get(), 1, Integer::sum);
+        }
+        assertEquals(Map.of(CREATED.value(), 1, CONFLICT.value(), clients - 1), counts);
+        client.get().uri(path + "/details?name=Geology")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
     @Test
     void returnsBadRequestWhenCreatingCategoryWithEmptyRequestBody() {
         client.post().uri(path)
@@ -197,6 +352,27 @@ public class CategoryIntegrationTest {
                 .expectBody().json("{\"error\":\"Category with name = Music already exists\"}");
     }
 
+    @Test
+    void leavesOwnerOfNameUntouchedWhenPuttingNewCategoryWithDuplicateName() {
+        client.put().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"3\", \"name\":\"Astronomy\"}")
+                .exchange()
+                .expectStatus().isEqualTo(CONFLICT.value())
+                .expectBody().json("{\"error\":\"Category with name = Astronomy already exists\"}");
+
+        client.put().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"1\", \"name\":\"Astronomy\", \"version\":0}")
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri(path + "/3")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
     @Test
     void returnsBadRequestWhenUpdatingCategoryWithEmptyRequestBody() {
         client.put().uri(path)
@@ -222,4 +398,41 @@ public class CategoryIntegrationTest {
                 .expectBody().json("{\"error\":\"Cannot find category with id = 3\"}");
     }
 
-}
\ No newline at end of file
+    @Test
+    void updatesCategoryWithEtagReturnedByGet() {
+        String etag = client.get().uri(path + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        client.put().uri(path)
+                .header(IF_MATCH, etag)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"1\", \"name\":\"Tourism\"}")
+                .exchange()
+                .expectStatus().isOk();
+
+        client.put().uri(path)
+                .header(IF_MATCH, etag)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"1\", \"name\":\"Tourism\"}")
+                .exchange()
+                .expectStatus().isEqualTo(CONFLICT.value());
+    }
+
+    @Test
+    void returnsPreconditionFailedWhenPuttingNonExistentCategoryWithWildcardIfMatch() {
+        client.put().uri(path)
+                .header(IF_MATCH, "*")
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"3\", \"name\":\"Tourism\"}")
+                .exchange()
+                .expectStatus().isEqualTo(PRECONDITION_FAILED.value());
+
+        client.get().uri(path + "/3")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+}
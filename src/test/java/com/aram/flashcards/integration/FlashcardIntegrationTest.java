@@ -9,6 +9,9 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 @Sql({"/test-data.sql"})
@@ -64,6 +67,45 @@ public class FlashcardIntegrationTest {
                     .jsonPath("$[?(@.question == 'What is function composition?')]").exists();
     }
 
+    @Test
+    void searchesFlashcardsByQuestionAndAnswer() {
+        client.get().uri(path + "/search?q=Sun")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$").isArray()
+                    .jsonPath("$[?(@.flashcard.question == 'What kind of star is the sun?')]").exists();
+    }
+
+    @Test
+    void returnsBadRequestWhenSearchingWithBlankQuery() {
+        client.get().uri(path + "/search?q= ")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void findsPageOfFlashcardsWithCursorToNextPage() {
+        client.get().uri(path + "/page?size=1")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.flashcards.length()").isEqualTo(1)
+                    .jsonPath("$.next").isNotEmpty();
+    }
+
+    @Test
+    void returnsBadRequestWhenFindingPageWithNonPositiveSize() {
+        client.get().uri(path + "/page?size=0")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().json("{'error':'Page size must be positive, got 0'}");
+    }
+
     @Test
     void findsById() {
         String expectedResponseBody = """
@@ -142,6 +184,43 @@ public class FlashcardIntegrationTest {
                     .jsonPath("$.answer").isEqualTo("Jupiter");
     }
 
+    @Test
+    void createsNearDuplicateFlashcardWithWarning() {
+        String requestBody = """
+                {
+                    "studySessionId":"1",
+                    "question":"What kind of star is the Sun",
+                    "answer":"A G-type main-sequence star"
+                }
+                """;
+
+        client.post().uri(path + "?duplicates=WARN")
+                .contentType(APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("X-Near-Duplicate-Of", "1");
+    }
+
+    @Test
+    void returnsConflictWhenRejectingNearDuplicateFlashcard() {
+        String requestBody = """
+                {
+                    "studySessionId":"1",
+                    "question":"What kind of star is the Sun",
+                    "answer":"A G-type main-sequence star"
+                }
+                """;
+
+        client.post().uri(path + "?duplicates=REJECT")
+                .contentType(APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                    .jsonPath("$.duplicateId").isEqualTo("1");
+    }
+
     @Test
     void returnsNotFoundWhenCreatingFlashcardWithNonExistentStudySession() {
         String requestBody = """
@@ -214,6 +293,46 @@ public class FlashcardIntegrationTest {
                 .expectBody().json(requestBody);
     }
 
+    @Test
+    void rejectsUpdateOfFlashcardAtStaleVersion() {
+        client.put().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("""
+                        {"id":"1","studySessionId":"1","question":"What kind of star is the sun?",
+                         "answer":"A G-type main-sequence star","version":0}""")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.version").isEqualTo(1);
+
+        client.put().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("""
+                        {"id":"1","studySessionId":"1","question":"What kind of star is the sun?",
+                         "answer":"A red giant","version":0}""")
+                .exchange()
+                .expectStatus().isEqualTo(CONFLICT)
+                .expectBody().json("{'error':'Flashcard with id = 1 is not at version 0'}");
+
+        client.put().uri(path)
+                .header(IF_MATCH, "\"1\"")
+                .contentType(APPLICATION_JSON)
+                .bodyValue("""
+                        {"id":"1","studySessionId":"1","question":"What kind of star is the sun?",
+                         "answer":"Yellow dwarf"}""")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.version").isEqualTo(2);
+
+        client.get().uri(path + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.answer").isEqualTo("Yellow dwarf")
+                    .jsonPath("$.version").isEqualTo(2);
+    }
+
     @Test
     void updatesNonExistentFlashcard() {
         String requestBody = """
@@ -261,4 +380,41 @@ public class FlashcardIntegrationTest {
                         """);
     }
 
-}
\ No newline at end of file
+    @Test
+    void updatesFlashcardWithEtagReturnedByGet() {
+        String etag = client.get().uri(path + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        client.put().uri(path)
+                .header(IF_MATCH, etag)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"1\", \"studySessionId\":\"1\", \"question\":\"What is the sun?\", \"answer\":\"A star\"}")
+                .exchange()
+                .expectStatus().isOk();
+
+        client.put().uri(path)
+                .header(IF_MATCH, etag)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"1\", \"studySessionId\":\"1\", \"question\":\"What is the sun?\", \"answer\":\"A star\"}")
+                .exchange()
+                .expectStatus().isEqualTo(CONFLICT.value());
+    }
+
+    @Test
+    void returnsPreconditionFailedWhenPuttingNonExistentFlashcardWithWildcardIfMatch() {
+        client.put().uri(path)
+                .header(IF_MATCH, "*")
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"3\", \"studySessionId\":\"1\", \"question\":\"What is the sun?\", \"answer\":\"A star\"}")
+                .exchange()
+                .expectStatus().isEqualTo(PRECONDITION_FAILED.value());
+
+        client.get().uri(path + "/3")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.aram.flashcards.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+@Sql({"/test-data.sql"})
+@AutoConfigureWebTestClient
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ReviewIntegrationTest {
+
+    @Value("${spring.servlet.path.reviews}")
+    private String path;
+
+    @Autowired
+    WebTestClient client;
+
+    @Test
+    void newFlashcardsAreDue() {
+        client.get().uri(path + "/due?studySessionId=1")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$[?(@.id == '1')]").exists();
+    }
+
+    @Test
+    void concurrentReviewsOfSameFlashcardAreNotLost() throws Exception {
+        int clients = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+            for (int i = 0; i < clients; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return client.post().uri(path)
+                            .contentType(APPLICATION_JSON)
+                            .bodyValue("{\"flashcardId\":\"1\",\"grade\":5}")
+                            .exchange()
+                            .returnResult(String.class)
+                            .getStatus()
+                            .value();
+                }));
+            }
+            start.countDown();
+        }
+
+        int reviewed = 0;
+        for (Future<Integer> status : statuses) {
+            if (status.get() == CREATED.value()) {
+                reviewed++;
+            } else {
+                assertEquals(CONFLICT.value(), status.get());
+            }
+        }
+        client.post().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"flashcardId\":\"1\",\"grade\":5}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                    .jsonPath("$.repetitions").isEqualTo(reviewed + 1);
+    }
+
+    @Test
+    void reviewedFlashcardIsNoLongerDue() {
+        client.get().uri(path + "/due?studySessionId=1")
+                .exchange()
+                .expectStatus().isOk();
+
+        client.post().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"flashcardId\":\"1\",\"grade\":5}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                    .jsonPath("$.flashcardId").isEqualTo("1")
+                    .jsonPath("$.intervalDays").isEqualTo(1)
+                    .jsonPath("$.repetitions").isEqualTo(1);
+
+        client.get().uri(path + "/due?studySessionId=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$[?(@.id == '1')]").doesNotExist();
+
+        client.get().uri(path + "/details?flashcardId=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.length()").isEqualTo(1)
+                    .jsonPath("$[0].grade").isEqualTo(5);
+    }
+
+    @Test
+    void returnsNotFoundWhenReviewingUnknownFlashcard() {
+        client.post().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"flashcardId\":\"unknown\",\"grade\":5}")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void samplesFlashcardsOfStudySessionIncludingNewOnes() {
+        client.get().uri(path + "/sample?studySessionId=1&size=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.length()").isEqualTo(1)
+                    .jsonPath("$[0].id").isEqualTo("1");
+
+        client.post().uri("/api/v1/flashcards")
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"studySessionId\":\"1\",\"question\":\"What is a comet?\",\"answer\":\"An icy body\"}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        client.get().uri(path + "/sample?studySessionId=1&size=5&weighted=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.length()").isEqualTo(2)
+                    .jsonPath("$[?(@.question == 'What is a comet?')]").exists();
+    }
+
+    @Test
+    void returnsNotFoundWhenSamplingUnknownStudySession() {
+        client.get().uri(path + "/sample?studySessionId=unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void returnsNotFoundWhenFindingDueFlashcardsOfUnknownStudySession() {
+        client.get().uri(path + "/due?studySessionId=unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void recordsReviewEventsAsynchronously() throws InterruptedException {
+        client.post().uri(path + "/events")
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"reviews\":[{\"flashcardId\":\"1\",\"grade\":4},{\"flashcardId\":\"1\",\"grade\":5}]}")
+                .exchange()
+                .expectStatus().isAccepted();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (reviewLogSize() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        client.get().uri(path + "/details?flashcardId=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.length()").isEqualTo(2)
+                    .jsonPath("$[1].intervalDays").isEqualTo(6);
+    }
+
+    @Test
+    void returnsBadRequestWhenReviewEventsAreEmpty() {
+        client.post().uri(path + "/events")
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"reviews\":[]}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private int reviewLogSize() {
+        List<?> logs = client.get().uri(path + "/details?flashcardId=1")
+                .exchange()
+                .expectBody(List.class)
+                .returnResult()
+                .getResponseBody();
+        return logs == null ? 0 : logs.size();
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.aram.flashcards.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+@Sql({"/test-data.sql"})
+@AutoConfigureWebTestClient
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class StatisticsIntegrationTest {
+
+    @Value("${spring.servlet.path.statistics}")
+    private String path;
+
+    @Value("${spring.servlet.path.flashcards}")
+    private String flashcardsPath;
+
+    @Value("${spring.servlet.path.study-sessions}")
+    private String studySessionsPath;
+
+    @Autowired
+    WebTestClient client;
+
+    @Test
+    void countsStudySessionsAndFlashcards() {
+        client.get().uri(path)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.studySessionsByCategory.1").isEqualTo(1)
+                    .jsonPath("$.flashcardsByStudySession.1").isEqualTo(1)
+                    .jsonPath("$.reconciledAt").exists();
+    }
+
+    @Test
+    void countsCreatedAndDeletedEntities() {
+        client.get().uri(path).exchange().expectStatus().isOk();
+
+        client.post().uri(flashcardsPath)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"studySessionId\":\"1\",\"question\":\"What is a comet?\",\"answer\":\"An icy body\"}")
+                .exchange()
+                .expectStatus().isCreated();
+        client.delete().uri(flashcardsPath + "/1")
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+        client.post().uri(studySessionsPath)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"categoryId\":\"1\",\"name\":\"Galaxies\"}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        client.get().uri(path)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.studySessionsByCategory.1").isEqualTo(2)
+                    .jsonPath("$.flashcardsByStudySession.1").isEqualTo(1);
+    }
+
+}
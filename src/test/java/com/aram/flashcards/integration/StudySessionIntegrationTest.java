@@ -9,6 +9,9 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 @Sql({"/test-data.sql"})
@@ -54,6 +57,17 @@ public class StudySessionIntegrationTest {
                     .jsonPath("$[?(@.name == 'Functional programming')]").exists();
     }
 
+    @Test
+    void autocompletesStudySessionNames() {
+        client.get().uri(path + "/autocomplete?prefix=ch&limit=1")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                    .jsonPath("$.length()").isEqualTo(1)
+                    .jsonPath("$[0].name").isEqualTo("Chemical reactions");
+    }
+
     @Test
     void findsById() {
         client.get().uri(path + "/1")
@@ -164,6 +178,26 @@ public class StudySessionIntegrationTest {
                 .expectBody().json("{\"id\":\"3\", \"categoryId\":\"1\", \"name\":\"Types of stars\"}");
     }
 
+    @Test
+    void findsStudySessionPutAfterItWasNotFound() {
+        client.get().uri(path + "/3")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        client.put().uri(path)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"3\", \"categoryId\":\"1\", \"name\":\"Types of stars\"}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        client.get().uri(path + "/3")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"id\":\"3\", \"categoryId\":\"1\", \"name\":\"Types of stars\"}");
+    }
+
     @Test
     void returnsNotFoundWhenUpdatingStudySessionWithNonExistentCategory() {
         client.put().uri(path)
@@ -230,4 +264,41 @@ public class StudySessionIntegrationTest {
                 .expectBody().json("{\"error\":\"Cannot find study session with id = 3\"}");
     }
 
-}
\ No newline at end of file
+    @Test
+    void updatesStudySessionWithEtagReturnedByGet() {
+        String etag = client.get().uri(path + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        client.put().uri(path)
+                .header(IF_MATCH, etag)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"1\", \"categoryId\":\"1\", \"name\":\"Types of stars\"}")
+                .exchange()
+                .expectStatus().isOk();
+
+        client.put().uri(path)
+                .header(IF_MATCH, etag)
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"1\", \"categoryId\":\"1\", \"name\":\"Types of stars\"}")
+                .exchange()
+                .expectStatus().isEqualTo(CONFLICT.value());
+    }
+
+    @Test
+    void returnsPreconditionFailedWhenPuttingNonExistentStudySessionWithWildcardIfMatch() {
+        client.put().uri(path)
+                .header(IF_MATCH, "*")
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"id\":\"3\", \"categoryId\":\"1\", \"name\":\"Types of stars\"}")
+                .exchange()
+                .expectStatus().isEqualTo(PRECONDITION_FAILED.value());
+
+        client.get().uri(path + "/3")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+}
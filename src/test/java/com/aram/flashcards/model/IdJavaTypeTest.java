@@ -0,0 +1,40 @@
+package com.aram.flashcards.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdJavaTypeTest {
+
+    private final IdJavaType idJavaType = new IdJavaType();
+
+    @Test
+    void unwrapsIdToSixteenBigEndianBytes() {
+        byte[] bytes = idJavaType.unwrap("0189abcd-ef01-7000-8000-0000000000ff", byte[].class, null);
+
+        assertArrayEquals(new byte[]{
+                0x01, (byte) 0x89, (byte) 0xab, (byte) 0xcd, (byte) 0xef, 0x01, 0x70, 0x00,
+                (byte) 0x80, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, (byte) 0xff
+        }, bytes);
+    }
+
+    @Test
+    void wrapsBytesToCanonicalId() {
+        String id = "0189abcd-ef01-7000-8000-0000000000ff";
+        byte[] bytes = idJavaType.unwrap(id, byte[].class, null);
+
+        assertEquals(id, idJavaType.wrap(bytes, null));
+    }
+
+    @Test
+    void keepsStringsUnchanged() {
+        assertEquals("1", idJavaType.unwrap("1", String.class, null));
+        assertEquals("1", idJavaType.wrap("1", null));
+    }
+
+    @Test
+    void throwsExceptionWhenUnwrappingNonUuidIdToBytes() {
+        assertThrows(InvalidIdException.class, () -> idJavaType.unwrap("1", byte[].class, null));
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.aram.flashcards.service.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServiceExceptionTest {
+
+    @Test
+    void formatsMessageFromArguments() {
+        var exception = new NotFoundException("Cannot find category with id = %s", "42");
+
+        assertEquals("Cannot find category with id = 42", exception.getMessage());
+    }
+
+    @Test
+    void keepsMessageWithoutArgumentsVerbatim() {
+        var exception = new BadRequestException("Discount must be below 100%");
+
+        assertEquals("Discount must be below 100%", exception.getMessage());
+    }
+
+    @Test
+    void formatsMessageWithMultipleArguments() {
+        var exception = new ConflictException("Category with id = %s is not at version %s", "42", 3L);
+
+        assertEquals("Category with id = 42 is not at version 3", exception.getMessage());
+    }
+
+    @Test
+    void doesNotCaptureStackTrace() {
+        var exception = new NotFoundException("Cannot find flashcard with id = %s", "42");
+
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    void doesNotRecordSuppressedExceptions() {
+        var exception = new ConflictException("Conflict");
+        exception.addSuppressed(new IllegalStateException());
+
+        assertEquals(0, exception.getSuppressed().length);
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.aram.flashcards.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static com.aram.flashcards.service.Aggregate.CATEGORIES;
+import static com.aram.flashcards.service.Aggregate.FLASHCARDS;
+import static com.aram.flashcards.service.Aggregate.STUDY_SESSIONS;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AggregateVersionsTest {
+
+    private final AggregateVersions versions = new AggregateVersions();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void changesOnlyVersionsThatDependOnChangedAggregate() {
+        String categories = versions.versionOf(CATEGORIES);
+        String flashcards = versions.versionOf(STUDY_SESSIONS, FLASHCARDS);
+
+        versions.changed(CATEGORIES);
+
+        assertNotEquals(categories, versions.versionOf(CATEGORIES));
+        assertEquals(flashcards, versions.versionOf(STUDY_SESSIONS, FLASHCARDS));
+    }
+
+    @Test
+    void distinguishesInstances() {
+        assertNotEquals(versions.versionOf(CATEGORIES), new AggregateVersions().versionOf(CATEGORIES));
+    }
+
+    @Test
+    void changesAgainAfterTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.changed(FLASHCARDS);
+        String duringTransaction = versions.versionOf(FLASHCARDS);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertNotEquals(duringTransaction, versions.versionOf(FLASHCARDS));
+    }
+
+}
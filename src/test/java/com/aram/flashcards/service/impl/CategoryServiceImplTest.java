@@ -2,21 +2,32 @@ package com.aram.flashcards.service.impl;
 
 import com.aram.flashcards.model.Category;
 import com.aram.flashcards.repository.CategoryRepository;
+import com.aram.flashcards.repository.Upserted;
 import com.aram.flashcards.service.dto.CategoryRequest;
+import com.aram.flashcards.service.dto.UpsertResult;
+import com.aram.flashcards.service.exception.BadRequestException;
 import com.aram.flashcards.service.exception.ConflictException;
 import com.aram.flashcards.service.exception.NotFoundException;
 import com.aram.flashcards.service.mapper.CategoryMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +39,27 @@ public class CategoryServiceImplTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private StudySessionExistenceCache studySessionExistenceCache;
+
+    @Mock
+    private FlashcardSearchIndex flashcardSearchIndex;
+
+    @Mock
+    private CategoryNameIndex nameIndex;
+
+    @Mock
+    private StudySessionNameIndex studySessionNameIndex;
+
+    @Mock
+    private EntityCounters entityCounters;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
+    @Spy
+    private CategoryCache categoryCache = new CategoryCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10), 100, Duration.ofSeconds(30));
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -66,6 +98,29 @@ public class CategoryServiceImplTest {
         verify(categoryRepository, times(1)).findById("1");
     }
 
+    @Test
+    void answersRepeatedLookupsOfUnknownCategoryWithoutQuery() {
+        when(categoryRepository.findById("1")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> categoryService.findById("1"));
+        assertThrows(NotFoundException.class, () -> categoryService.findById("1"));
+        assertThrows(NotFoundException.class, () -> categoryService.assertExistsById("1"));
+        verify(categoryRepository, times(1)).findById("1");
+        verify(categoryRepository, never()).existsById("1");
+    }
+
+    @Test
+    void findsCategoryCreatedAfterLookupMissedIt() {
+        when(categoryRepository.findById("1")).thenReturn(Optional.empty(), Optional.of(category));
+        when(categoryMapper.categoryFrom(request)).thenReturn(category);
+        when(categoryRepository.saveAndFlush(category)).thenReturn(category);
+
+        assertThrows(NotFoundException.class, () -> categoryService.findById("1"));
+        categoryService.createCategory(request);
+
+        assertEquals(category, categoryService.findById("1"));
+    }
+
     @Test
     void findsCategoryByName() {
         when(categoryRepository.findByName("Music")).thenReturn(Optional.of(new Category("1", "Music")));
@@ -84,24 +139,37 @@ public class CategoryServiceImplTest {
 
     @Test
     void cannotCreateCategoryWithDuplicateName() {
-        when(categoryRepository.existsByName("Music")).thenReturn(true);
+        when(categoryMapper.categoryFrom(request)).thenReturn(category);
+        when(categoryRepository.saveAndFlush(category)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "category.name_unique")));
 
-        assertThrows(ConflictException.class,
-                () -> categoryService.createCategory(new CategoryRequest("Music")));
+        var exception = assertThrows(ConflictException.class, () -> categoryService.createCategory(request));
 
-        verify(categoryRepository, times(1)).existsByName("Music");
+        assertEquals("Category with name = Music already exists", exception.getMessage());
+        verify(nameIndex, never()).put(any());
+    }
+
+    @Test
+    void propagatesOtherIntegrityViolationsWhenCreatingCategory() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("too long",
+                new ConstraintViolationException("too long", new SQLException(), null));
+        when(categoryMapper.categoryFrom(request)).thenReturn(category);
+        when(categoryRepository.saveAndFlush(category)).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> categoryService.createCategory(request)));
     }
 
     @Test
     void createsCategory() {
-        when(categoryRepository.existsByName(request.getName())).thenReturn(false);
         when(categoryMapper.categoryFrom(request)).thenReturn(category);
-        when(categoryRepository.save(category)).thenReturn(category);
+        when(categoryRepository.saveAndFlush(category)).thenReturn(category);
 
         assertEquals(categoryService.createCategory(request), category);
-        verify(categoryRepository, times(1)).existsByName(request.getName());
         verify(categoryMapper, times(1)).categoryFrom(request);
-        verify(categoryRepository, times(1)).save(category);
+        verify(categoryRepository, times(1)).saveAndFlush(category);
+        verify(nameIndex, times(1)).put(category);
+        verify(entityCounters, times(1)).categoryCreated(category.getId());
     }
 
     @Test
@@ -110,6 +178,39 @@ public class CategoryServiceImplTest {
 
         categoryService.deleteById("1");
         verify(categoryRepository, times(1)).deleteById("1");
+        verify(nameIndex, times(1)).remove("1");
+        verify(studySessionNameIndex, times(1)).removeAllByCategoryId("1");
+        verify(entityCounters, times(1)).categoryDeleted("1");
+    }
+
+    @Test
+    void autocompletesNamesWithDefaultLimit() {
+        when(nameIndex.complete(eq("mu"), eq(CategoryServiceImpl.DEFAULT_AUTOCOMPLETE_LIMIT), any()))
+                .thenReturn(List.of(category));
+
+        assertEquals(List.of(category), categoryService.autocomplete("mu", null));
+    }
+
+    @Test
+    void autocompleteCapsLimit() {
+        categoryService.autocomplete("mu", 10_000);
+
+        verify(nameIndex, times(1)).complete(eq("mu"), eq(CategoryServiceImpl.MAX_AUTOCOMPLETE_LIMIT), any());
+    }
+
+    @Test
+    void autocompleteWithNonPositiveLimitThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> categoryService.autocomplete("mu", 0));
+        verifyNoInteractions(nameIndex);
+    }
+
+    @Test
+    void invalidatesStudySessionExistenceWhenDeletingCategory() {
+        when(categoryRepository.existsById("1")).thenReturn(true);
+
+        categoryService.deleteById("1");
+        verify(studySessionExistenceCache, times(1)).invalidateAll();
+        verify(flashcardSearchIndex, times(1)).invalidate();
     }
 
     @Test
@@ -120,13 +221,6 @@ public class CategoryServiceImplTest {
         verify(categoryRepository, times(1)).existsById("1");
     }
 
-    @Test
-    void savesCategory() {
-        when(categoryRepository.save(category)).thenReturn(category);
-        assertEquals(category, categoryService.save(category));
-        verify(categoryRepository, times(1)).save(category);
-    }
-
     @Test
     void verifiesExistenceById() {
         when(categoryRepository.existsById("1")).thenReturn(true);
@@ -166,4 +260,122 @@ public class CategoryServiceImplTest {
         verify(categoryRepository, times(1)).findByName("Music");
     }
 
+    @Test
+    void findsAllFromCacheAfterFirstLoad() {
+        when(categoryRepository.findAllByOrderByNameAsc()).thenReturn(categories);
+
+        categoryService.findAll();
+        assertEquals(categories, categoryService.findAll());
+        verify(categoryRepository, times(1)).findAllByOrderByNameAsc();
+    }
+
+    @Test
+    void findsCategoryByIdFromCacheAfterFirstLoad() {
+        when(categoryRepository.findById("1")).thenReturn(Optional.of(category));
+
+        categoryService.findById("1");
+        assertEquals(category, categoryService.findById("1"));
+        assertTrue(categoryService.existsById("1"));
+        verify(categoryRepository, times(1)).findById("1");
+        verify(categoryRepository, never()).existsById("1");
+    }
+
+
+    @Test
+    void assertsExistenceFromCacheAfterFirstCheck() {
+        when(categoryRepository.existsById("1")).thenReturn(true);
+
+        categoryService.assertExistsById("1");
+        categoryService.assertExistsById("1");
+        verify(categoryRepository, times(1)).existsById("1");
+    }
+
+    @Test
+    void findsCategoryByNameFromCacheAfterFirstLoad() {
+        when(categoryRepository.findByName("Music")).thenReturn(Optional.of(category));
+
+        categoryService.findByName("Music");
+        assertEquals(category, categoryService.findByName("Music"));
+        verify(categoryRepository, times(1)).findByName("Music");
+    }
+
+    @Test
+    void invalidatesCacheWhenCreatingCategory() {
+        when(categoryRepository.findAllByOrderByNameAsc()).thenReturn(categories);
+        when(categoryMapper.categoryFrom(request)).thenReturn(category);
+        when(categoryRepository.saveAndFlush(category)).thenReturn(category);
+
+        categoryService.findAll();
+        categoryService.createCategory(request);
+        categoryService.findAll();
+        verify(categoryRepository, times(2)).findAllByOrderByNameAsc();
+    }
+
+    @Test
+    void invalidatesCacheWhenDeletingCategory() {
+        when(categoryRepository.existsById("1")).thenReturn(true, false);
+
+        categoryService.deleteById("1");
+        assertFalse(categoryService.existsById("1"));
+        verify(categoryRepository, times(2)).existsById("1");
+    }
+
+    @Test
+    void upsertsCategoryReportingWhetherItWasCreated() {
+        when(categoryRepository.upsert(category)).thenReturn(Optional.of(new Upserted(true, 0L)));
+
+        assertEquals(new UpsertResult<>(category.withVersion(0L), true), categoryService.upsert(category));
+        verify(categoryRepository, never()).save(any());
+    }
+
+    @Test
+    void updatesCategoryOnlyAtExpectedVersion() {
+        Category current = category.withVersion(3L);
+        when(categoryRepository.updateIfCurrent(current)).thenReturn(true);
+
+        assertEquals(new UpsertResult<>(category.withVersion(4L), false), categoryService.upsert(current));
+        verify(categoryRepository, never()).upsert(any());
+    }
+
+    @Test
+    void throwsConflictWhenCategoryIsNotAtExpectedVersion() {
+        Category stale = category.withVersion(3L);
+        when(categoryRepository.updateIfCurrent(stale)).thenReturn(false);
+
+        var exception = assertThrows(ConflictException.class, () -> categoryService.upsert(stale));
+        assertEquals("Category with id = 1 is not at version 3", exception.getMessage());
+    }
+
+    @Test
+    void cannotUpsertCategoryWithNameOwnedByAnotherCategory() {
+        when(categoryRepository.upsert(category)).thenReturn(Optional.empty());
+
+        var exception = assertThrows(ConflictException.class, () -> categoryService.upsert(category));
+
+        assertEquals("Category with name = Music already exists", exception.getMessage());
+        verify(nameIndex, never()).put(any());
+    }
+
+    @Test
+    void cannotUpdateCategoryToDuplicateNameAtExpectedVersion() {
+        Category current = category.withVersion(3L);
+        when(categoryRepository.updateIfCurrent(current)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "category.name_unique")));
+
+        var exception = assertThrows(ConflictException.class, () -> categoryService.upsert(current));
+
+        assertEquals("Category with name = Music already exists", exception.getMessage());
+    }
+
+    @Test
+    void invalidatesCacheWhenUpsertingCategory() {
+        when(categoryRepository.findById("1")).thenReturn(Optional.of(category));
+        when(categoryRepository.upsert(category)).thenReturn(Optional.of(new Upserted(false, 1L)));
+
+        categoryService.findById("1");
+        categoryService.upsert(category);
+        categoryService.findById("1");
+        verify(categoryRepository, times(2)).findById("1");
+    }
+
 }
@@ -0,0 +1,80 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Category;
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.StudySession;
+import com.aram.flashcards.repository.FlashcardRepository;
+import com.aram.flashcards.repository.StudySessionRepository;
+import com.aram.flashcards.service.CategoryService;
+import com.aram.flashcards.service.dto.CategoryTree;
+import com.aram.flashcards.service.dto.StudySessionTree;
+import com.aram.flashcards.service.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryTreeServiceImplTest {
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private StudySessionRepository studySessionRepository;
+
+    @Mock
+    private FlashcardRepository flashcardRepository;
+
+    @InjectMocks
+    private CategoryTreeServiceImpl categoryTreeService;
+
+    @Test
+    void assemblesTreeFromOneQueryPerLevel() {
+        Flashcard sun = new Flashcard("1", "a", "What kind of star is the sun?", "Yellow dwarf");
+        Flashcard moon = new Flashcard("2", "a", "What orbits the earth?", "The moon");
+        Flashcard andromeda = new Flashcard("3", "b", "What is the closest galaxy?", "Andromeda");
+        when(categoryService.findById("1")).thenReturn(new Category("1", "Astronomy"));
+        when(studySessionRepository.findAllByCategoryIdOrderByNameAsc("1")).thenReturn(List.of(
+                new StudySession("b", "1", "Galaxies"),
+                new StudySession("a", "1", "Solar system"),
+                new StudySession("c", "1", "Stars")
+        ));
+        when(flashcardRepository.findAllByCategoryId("1")).thenReturn(List.of(sun, moon, andromeda));
+
+        CategoryTree tree = categoryTreeService.findTreeById("1");
+
+        assertEquals(new CategoryTree("1", "Astronomy", List.of(
+                new StudySessionTree("b", "Galaxies", List.of(andromeda)),
+                new StudySessionTree("a", "Solar system", List.of(sun, moon)),
+                new StudySessionTree("c", "Stars", List.of())
+        )), tree);
+        verify(studySessionRepository, times(1)).findAllByCategoryIdOrderByNameAsc("1");
+        verify(flashcardRepository, times(1)).findAllByCategoryId("1");
+        verifyNoMoreInteractions(studySessionRepository, flashcardRepository);
+    }
+
+    @Test
+    void skipsFlashcardQueryWhenCategoryHasNoStudySessions() {
+        when(categoryService.findById("1")).thenReturn(new Category("1", "Astronomy"));
+        when(studySessionRepository.findAllByCategoryIdOrderByNameAsc("1")).thenReturn(List.of());
+
+        assertEquals(new CategoryTree("1", "Astronomy", List.of()), categoryTreeService.findTreeById("1"));
+        verifyNoInteractions(flashcardRepository);
+    }
+
+    @Test
+    void throwsNotFoundWhenCategoryDoesNotExist() {
+        when(categoryService.findById("1")).thenThrow(new NotFoundException("Cannot find category with id = 1"));
+
+        assertThrows(NotFoundException.class, () -> categoryTreeService.findTreeById("1"));
+        verifyNoInteractions(studySessionRepository, flashcardRepository);
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.repository.DueCard;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DueCardQueueTest {
+
+    private static final Duration LOOKAHEAD = Duration.ofHours(1);
+
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final List<DueCard> store = new ArrayList<>();
+
+    private int loads;
+
+    private final DueCardQueue queue = new DueCardQueue();
+
+    @Test
+    void returnsDueCardsEarliestFirstUpToLimit() {
+        store(new DueCard("1", now.minusSeconds(10)),
+                new DueCard("2", now.minusSeconds(30)),
+                new DueCard("3", now.minusSeconds(20)));
+
+        assertEquals(List.of("2", "3"), due(now, 2));
+        assertEquals(List.of("2", "3", "1"), due(now, 10));
+    }
+
+    @Test
+    void skipsCardsDueInTheFuture() {
+        store(new DueCard("1", now.plusSeconds(10)), new DueCard("2", now));
+
+        assertEquals(List.of("2"), due(now, 10));
+    }
+
+    @Test
+    void cardsWithoutScheduleAreDueImmediately() {
+        store(new DueCard("1", null));
+
+        assertEquals(List.of("1"), due(now, 10));
+    }
+
+    @Test
+    void answersFromMemoryWhileTheLoadedWindowCoversNow() {
+        store(new DueCard("1", now.minusSeconds(10)), new DueCard("2", now.plusSeconds(60)));
+
+        assertEquals(List.of("1"), due(now, 10));
+        assertEquals(List.of("1", "2"), due(now.plusSeconds(60), 10));
+        assertEquals(1, loads);
+    }
+
+    @Test
+    void reloadsWhenNowPassesTheLoadedWindow() {
+        store(new DueCard("1", now.minusSeconds(10)));
+        due(now, 10);
+        store(new DueCard("2", now.plus(LOOKAHEAD).plusSeconds(10)));
+
+        assertEquals(List.of("1", "2"), due(now.plus(LOOKAHEAD).plusSeconds(10), 10));
+        assertEquals(2, loads);
+    }
+
+    @Test
+    void reloadsTruncatedWindowOnceItRunsShort() {
+        store(new DueCard("1", now.minusSeconds(30)),
+                new DueCard("2", now.minusSeconds(20)),
+                new DueCard("3", now.minusSeconds(10)));
+
+        assertEquals(List.of("1", "2"), due(now, 2));
+        assertEquals(List.of("1", "2"), due(now, 2));
+        assertEquals(1, loads);
+
+        reschedule("1", now.plusSeconds(600));
+
+        assertEquals(List.of("2", "3"), due(now, 2));
+        assertEquals(2, loads);
+    }
+
+    @Test
+    void addedCardIsDueImmediatelyWithoutReorderingOthers() {
+        store(new DueCard("1", now.minusSeconds(30)));
+        due(now, 10);
+
+        queue.add("2");
+
+        assertEquals(List.of("2", "1"), due(now, 10));
+        assertEquals(2, queue.size());
+        assertEquals(1, loads);
+    }
+
+    @Test
+    void addingKnownCardKeepsItsSchedule() {
+        store(new DueCard("1", now.plusSeconds(60)));
+        due(now, 10);
+
+        queue.add("1");
+
+        assertEquals(List.of(), due(now, 10));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void rescheduledCardMovesToItsNewDueDate() {
+        store(new DueCard("1", now.minusSeconds(30)), new DueCard("2", now.minusSeconds(20)));
+        due(now, 10);
+
+        queue.reschedule("1", now.plusSeconds(60));
+
+        assertEquals(List.of("2"), due(now, 10));
+        assertEquals(List.of("2", "1"), due(now.plusSeconds(60), 10));
+        assertEquals(1, loads);
+    }
+
+    @Test
+    void removedCardIsNotReturned() {
+        store(new DueCard("1", now.minusSeconds(30)), new DueCard("2", now.minusSeconds(20)));
+        due(now, 10);
+
+        queue.remove("1");
+
+        assertEquals(List.of("2"), due(now, 10));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void repeatedReschedulingKeepsOneEntryPerCard() {
+        store(new DueCard("1", now));
+        due(now, 10);
+
+        for (int i = 0; i < 100; i++) {
+            queue.reschedule("1", now);
+        }
+
+        assertEquals(List.of("1"), due(now, 10));
+        assertEquals(1, queue.size());
+    }
+
+    private void store(DueCard... dueCards) {
+        store.addAll(List.of(dueCards));
+    }
+
+    private void reschedule(String flashcardId, Instant dueAt) {
+        store.removeIf(dueCard -> dueCard.getFlashcardId().equals(flashcardId));
+        store.add(new DueCard(flashcardId, dueAt));
+        queue.reschedule(flashcardId, dueAt);
+    }
+
+    private List<String> due(Instant at, int limit) {
+        return queue.due(at, at.plus(LOOKAHEAD), limit, (until, max) -> {
+            loads++;
+            return store.stream()
+                    .filter(dueCard -> !dueCard.getDueAt().isAfter(until))
+                    .sorted(Comparator.comparing(DueCard::getDueAt).thenComparing(DueCard::getFlashcardId))
+                    .limit(max)
+                    .toList();
+        });
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.repository.CategoryCount;
+import com.aram.flashcards.repository.StudySessionCount;
+import com.aram.flashcards.service.dto.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityCountersTest {
+
+    private final EntityCounters counters = new EntityCounters();
+
+    @BeforeEach
+    void init() {
+        counters.reconcile(
+                List.of(new CategoryCount("a", 2), new CategoryCount("b", 0)),
+                List.of(new StudySessionCount("1", "a", 3), new StudySessionCount("2", "a", 0)),
+                Instant.EPOCH
+        );
+    }
+
+    @Test
+    void snapshotsReconciledCounts() {
+        Statistics statistics = counters.snapshot();
+
+        assertEquals(Map.of("a", 2L, "b", 0L), statistics.getStudySessionsByCategory());
+        assertEquals(Map.of("1", 3L, "2", 0L), statistics.getFlashcardsByStudySession());
+        assertEquals(Instant.EPOCH, statistics.getReconciledAt());
+        assertFalse(counters.needsReconciliation());
+    }
+
+    @Test
+    void needsReconciliationBeforeLoading() {
+        EntityCounters unloaded = new EntityCounters();
+        unloaded.categoryCreated("c");
+
+        assertTrue(unloaded.needsReconciliation());
+        assertTrue(unloaded.snapshot().getStudySessionsByCategory().isEmpty());
+    }
+
+    @Test
+    void countsCreatedEntities() {
+        counters.categoryCreated("c");
+        counters.studySessionCreated("3", "c");
+        counters.flashcardsCreated("3", 5);
+        counters.flashcardsCreated("1", 1);
+
+        Statistics statistics = counters.snapshot();
+        assertEquals(Map.of("a", 2L, "b", 0L, "c", 1L), statistics.getStudySessionsByCategory());
+        assertEquals(Map.of("1", 4L, "2", 0L, "3", 5L), statistics.getFlashcardsByStudySession());
+    }
+
+    @Test
+    void countsDeletedEntities() {
+        counters.flashcardDeleted("1");
+        counters.studySessionDeleted("2");
+
+        Statistics statistics = counters.snapshot();
+        assertEquals(Map.of("a", 1L, "b", 0L), statistics.getStudySessionsByCategory());
+        assertEquals(Map.of("1", 2L), statistics.getFlashcardsByStudySession());
+    }
+
+    @Test
+    void deletingCategoryDropsItsStudySessions() {
+        counters.categoryDeleted("a");
+
+        Statistics statistics = counters.snapshot();
+        assertEquals(Map.of("b", 0L), statistics.getStudySessionsByCategory());
+        assertTrue(statistics.getFlashcardsByStudySession().isEmpty());
+    }
+
+    @Test
+    void ignoresRepeatedStudySessionCreation() {
+        counters.studySessionCreated("1", "a");
+
+        assertEquals(2L, counters.snapshot().getStudySessionsByCategory().get("a"));
+    }
+
+    @Test
+    void markingStaleRequiresReconciliation() {
+        counters.markStale();
+
+        assertTrue(counters.needsReconciliation());
+        counters.reconcile(List.of(), List.of(), Instant.EPOCH);
+        assertFalse(counters.needsReconciliation());
+    }
+
+}
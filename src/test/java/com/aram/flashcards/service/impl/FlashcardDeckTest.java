@@ -0,0 +1,101 @@
+package com.aram.flashcards.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlashcardDeckTest {
+
+    private final RandomGenerator random = new SplittableRandom(42);
+
+    @Test
+    void samplesDistinctIds() {
+        FlashcardDeck deck = deckOf(100, 1.0);
+
+        List<String> sample = deck.sample(20, random);
+
+        assertEquals(20, sample.size());
+        assertEquals(20, new HashSet<>(sample).size());
+    }
+
+    @Test
+    void samplesWholeDeckWhenCountExceedsSize() {
+        FlashcardDeck deck = deckOf(5, 1.0);
+
+        assertEquals(5, new HashSet<>(deck.sample(10, random)).size());
+        assertEquals(5, new HashSet<>(deck.sampleWeighted(10, random)).size());
+    }
+
+    @Test
+    void samplesUniformly() {
+        FlashcardDeck deck = deckOf(10, 1.0);
+        int[] counts = new int[10];
+        for (int i = 0; i < 10_000; i++) {
+            deck.sample(3, random).forEach(id -> counts[Integer.parseInt(id)]++);
+        }
+
+        for (int count : counts) {
+            assertEquals(3_000, count, 200);
+        }
+    }
+
+    @Test
+    void samplesHeavierCardsMoreOften() {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        weights.put("light", 1.0);
+        weights.put("heavy", 4.0);
+        FlashcardDeck deck = new FlashcardDeck(weights);
+        int heavy = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (deck.sampleWeighted(1, random).get(0).equals("heavy")) {
+                heavy++;
+            }
+        }
+
+        assertEquals(8_000, heavy, 200);
+    }
+
+    @Test
+    void reweighsCards() {
+        FlashcardDeck deck = deckOf(2, 1.0);
+        deck.reweigh("1", 1e9);
+
+        assertEquals(List.of("1"), deck.sampleWeighted(1, random));
+    }
+
+    @Test
+    void addsAndRemovesCards() {
+        FlashcardDeck deck = deckOf(3, 1.0);
+        deck.add("3", 1.0);
+        deck.add("3", 1.0);
+        deck.remove("0");
+        deck.remove("unknown");
+
+        assertEquals(3, deck.size());
+        assertEquals(new HashSet<>(List.of("1", "2", "3")), new HashSet<>(deck.sample(10, random)));
+    }
+
+    @Test
+    void samplesNothingFromEmptyDeck() {
+        FlashcardDeck deck = deckOf(0, 1.0);
+
+        assertTrue(deck.sample(3, random).isEmpty());
+        assertTrue(deck.sampleWeighted(3, random).isEmpty());
+    }
+
+    private static FlashcardDeck deckOf(int size, double weight) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            weights.put(String.valueOf(i), weight);
+        }
+        return new FlashcardDeck(weights);
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.service.dto.FlashcardSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlashcardSearchIndexTest {
+
+    private final FlashcardSearchIndex index = new FlashcardSearchIndex();
+    private final AtomicInteger loads = new AtomicInteger();
+    private List<Flashcard> stored;
+
+    @BeforeEach
+    void init() {
+        stored = List.of(
+                new Flashcard("1", "a", "What kind of star is the sun?", "Yellow dwarf"),
+                new Flashcard("2", "a", "What is nuclear fusion?", "Two nuclei combine into a heavier nucleus"),
+                new Flashcard("3", "b", "Which star is closest to the sun?", "Proxima Centauri, a red dwarf star")
+        );
+    }
+
+    @Test
+    void tokenizesCaseAndAccentInsensitively() {
+        assertEquals(List.of("what", "s", "creme", "brulee", "42"),
+                FlashcardSearchIndex.tokenize("What's Crème-Brûlée? 42"));
+    }
+
+    @Test
+    void ranksFlashcardsByRelevance() {
+        List<FlashcardSearchHit> hits = search("star", null, 10);
+
+        assertEquals(List.of("3", "1"), ids(hits));
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    void matchesAnyQueryTerm() {
+        assertEquals(List.of("2", "3"), ids(search("fusion centauri", null, 10)).stream().sorted().toList());
+    }
+
+    @Test
+    void scopesSearchToStudySession() {
+        assertEquals(List.of("1"), ids(search("star", "a", 10)));
+    }
+
+    @Test
+    void limitsNumberOfHits() {
+        assertEquals(List.of("3"), ids(search("star", null, 1)));
+    }
+
+    @Test
+    void returnsNoHitsForUnknownTerms() {
+        assertTrue(search("galaxy", null, 10).isEmpty());
+    }
+
+    @Test
+    void loadsStoredFlashcardsOnlyOnce() {
+        search("star", null, 10);
+        search("sun", null, 10);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void indexesPutFlashcardAfterLoad() {
+        search("star", null, 10);
+
+        index.put(new Flashcard("4", "a", "What is a galaxy?", "A system of stars"));
+
+        assertEquals(List.of("4"), ids(search("galaxy", null, 10)));
+    }
+
+    @Test
+    void reindexesUpdatedFlashcard() {
+        search("star", null, 10);
+
+        index.put(new Flashcard("1", "a", "What is the moon?", "A natural satellite"));
+
+        assertEquals(List.of("3"), ids(search("star", null, 10)));
+        assertEquals(List.of("1"), ids(search("moon", null, 10)));
+    }
+
+    @Test
+    void removesFlashcard() {
+        search("star", null, 10);
+
+        index.remove("3");
+
+        assertEquals(List.of("1"), ids(search("star", null, 10)));
+    }
+
+    @Test
+    void removesAllFlashcardsOfStudySession() {
+        search("star", null, 10);
+
+        index.removeAllByStudySessionId("a");
+
+        assertEquals(List.of("3"), ids(search("star sun fusion", null, 10)));
+    }
+
+    @Test
+    void reloadsAfterInvalidation() {
+        search("star", null, 10);
+
+        index.invalidate();
+        search("star", null, 10);
+
+        assertEquals(2, loads.get());
+    }
+
+    private List<FlashcardSearchHit> search(String query, String studySessionId, int limit) {
+        return index.search(query, studySessionId, limit, this::load);
+    }
+
+    private void load(Consumer<Flashcard> consumer) {
+        loads.incrementAndGet();
+        stored.forEach(consumer);
+    }
+
+    private List<String> ids(List<FlashcardSearchHit> hits) {
+        return hits.stream().map(hit -> hit.getFlashcard().getId()).toList();
+    }
+
+}
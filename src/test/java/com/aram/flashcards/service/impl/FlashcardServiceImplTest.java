@@ -1,39 +1,91 @@
 package com.aram.flashcards.service.impl;
 
 import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.ReviewSchedule;
 import com.aram.flashcards.repository.FlashcardRepository;
+import com.aram.flashcards.repository.ReviewScheduleRepository;
+import com.aram.flashcards.repository.Upserted;
 import com.aram.flashcards.service.StudySessionService;
+import com.aram.flashcards.service.dto.DuplicatePolicy;
+import com.aram.flashcards.service.dto.FlashcardBatchItem;
+import com.aram.flashcards.service.dto.FlashcardCreateResult;
+import com.aram.flashcards.service.dto.FlashcardPage;
 import com.aram.flashcards.service.dto.FlashcardRequest;
+import com.aram.flashcards.service.dto.FlashcardSearchHit;
+import com.aram.flashcards.service.dto.UpsertResult;
+import com.aram.flashcards.service.exception.ConflictException;
+import com.aram.flashcards.service.exception.BadRequestException;
+import com.aram.flashcards.service.exception.NearDuplicateException;
 import com.aram.flashcards.service.exception.NotFoundException;
 import com.aram.flashcards.service.mapper.FlashcardMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class FlashcardServiceImplTest {
 
+    private static final int BATCH_SIZE = 50;
+
     @Mock
     private FlashcardRepository flashcardRepository;
 
+    @Mock
+    private ReviewScheduleRepository reviewScheduleRepository;
+
     @Mock
     private StudySessionService studySessionService;
 
     @Mock
     private FlashcardMapper mapper;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private DueCardQueues dueCardQueues;
+
+    @Spy
+    private FlashcardMissingIdCache missingIds =
+            new FlashcardMissingIdCache(new SimpleMeterRegistry(), 100, Duration.ofSeconds(30));
+
+    @Mock
+    private FlashcardSearchIndex searchIndex;
+
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    @Mock
+    private FlashcardDecks flashcardDecks;
+
+    @Mock
+    private EntityCounters entityCounters;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
     private FlashcardServiceImpl flashcardService;
 
     private Flashcard flashcard;
@@ -42,6 +94,9 @@ public class FlashcardServiceImplTest {
 
     @BeforeEach
     void init() {
+        this.flashcardService = new FlashcardServiceImpl(flashcardRepository, reviewScheduleRepository,
+                studySessionService, mapper, entityManager, dueCardQueues, missingIds, searchIndex,
+                nearDuplicateDetector, flashcardDecks, entityCounters, aggregateVersions, BATCH_SIZE);
         String id = "1";
         String studySessionId = "2";
         this.flashcard = new Flashcard(
@@ -77,6 +132,30 @@ public class FlashcardServiceImplTest {
         verify(flashcardRepository, times(1)).findById("1");
     }
 
+    @Test
+    void answersRepeatedLookupsOfUnknownFlashcardWithoutQuery() {
+        when(flashcardRepository.findById("1")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> flashcardService.findById("1"));
+        assertThrows(NotFoundException.class, () -> flashcardService.findById("1"));
+        assertFalse(flashcardService.existsById("1"));
+        verify(flashcardRepository, times(1)).findById("1");
+        verify(flashcardRepository, never()).existsById("1");
+    }
+
+    @Test
+    void findsFlashcardCreatedAfterLookupMissedIt() {
+        FlashcardRequest request = new FlashcardRequest("2", "What is the color of the sky?", "Blue");
+        when(flashcardRepository.findById("1")).thenReturn(Optional.empty(), Optional.of(flashcard));
+        when(mapper.flashcardFrom(request)).thenReturn(flashcard);
+        when(flashcardRepository.save(flashcard)).thenReturn(flashcard);
+
+        assertThrows(NotFoundException.class, () -> flashcardService.findById("1"));
+        flashcardService.createFlashcard(request);
+
+        assertEquals(flashcard, flashcardService.findById("1"));
+    }
+
     @Test
     void findsAllByStudySessionId() {
         when(flashcardRepository.findAllByStudySessionId("1"))
@@ -125,6 +204,53 @@ public class FlashcardServiceImplTest {
         verify(mapper, times(1)).flashcardFrom(request);
         verify(studySessionService, times(1)).assertExistsById("1");
         verify(flashcardRepository, times(1)).save(flashcard);
+        verify(dueCardQueues, times(1)).add("1", "id");
+        verify(dueCardQueues, never()).reschedule(any(), any(), any());
+        verify(searchIndex, times(1)).put(flashcard);
+        verify(nearDuplicateDetector, times(1)).add(flashcard);
+        verify(nearDuplicateDetector, never()).closest(any(), any(), any());
+        verify(flashcardDecks, times(1)).add("1", "id");
+        verify(entityCounters, times(1)).flashcardsCreated("1", 1);
+    }
+
+    @Test
+    void createsFlashcardWithWarningWhenNearDuplicateExists() {
+        FlashcardRequest request = new FlashcardRequest("1", "What is the colour of the sky?", "Blue");
+        Flashcard flashcard = new Flashcard("id", "1", "What is the colour of the sky?", "Blue");
+        when(nearDuplicateDetector.closest(eq("1"), eq(request.getQuestion()), any()))
+                .thenReturn(Optional.of(new MinHashIndex.NearDuplicate("2", 0.9)));
+        when(mapper.flashcardFrom(request)).thenReturn(flashcard);
+        when(flashcardRepository.save(flashcard)).thenReturn(flashcard);
+
+        FlashcardCreateResult result = flashcardService.createFlashcard(request, DuplicatePolicy.WARN);
+
+        assertEquals(flashcard, result.getFlashcard());
+        assertEquals("2", result.getNearDuplicateId());
+    }
+
+    @Test
+    void createsFlashcardWithoutWarningWhenNoNearDuplicateExists() {
+        FlashcardRequest request = new FlashcardRequest("1", "What is nuclear fusion?", "Blue");
+        Flashcard flashcard = new Flashcard("id", "1", "What is nuclear fusion?", "Blue");
+        when(nearDuplicateDetector.closest(eq("1"), eq(request.getQuestion()), any())).thenReturn(Optional.empty());
+        when(mapper.flashcardFrom(request)).thenReturn(flashcard);
+        when(flashcardRepository.save(flashcard)).thenReturn(flashcard);
+
+        assertNull(flashcardService.createFlashcard(request, DuplicatePolicy.REJECT).getNearDuplicateId());
+    }
+
+    @Test
+    void rejectsNearDuplicateFlashcard() {
+        FlashcardRequest request = new FlashcardRequest("1", "What is the colour of the sky?", "Blue");
+        when(nearDuplicateDetector.closest(eq("1"), eq(request.getQuestion()), any()))
+                .thenReturn(Optional.of(new MinHashIndex.NearDuplicate("2", 0.9)));
+
+        NearDuplicateException exception = assertThrows(NearDuplicateException.class,
+                () -> flashcardService.createFlashcard(request, DuplicatePolicy.REJECT));
+
+        assertEquals("2", exception.getDuplicateId());
+        verify(flashcardRepository, never()).save(any());
+        verify(nearDuplicateDetector, never()).add(any());
     }
 
     @Test
@@ -136,11 +262,10 @@ public class FlashcardServiceImplTest {
     }
 
     @Test
-    void testSave() {
-        when(flashcardRepository.save(flashcard)).thenReturn(flashcard);
+    void testFindAllById() {
+        when(flashcardRepository.findAllById(List.of("1"))).thenReturn(flashcards);
 
-        assertEquals(flashcard, flashcardService.save(flashcard));
-        verify(flashcardRepository, times(1)).save(flashcard);
+        assertEquals(flashcards, flashcardService.findAllById(List.of("1")));
     }
 
     @Test
@@ -148,6 +273,225 @@ public class FlashcardServiceImplTest {
         flashcardService.deleteById("1");
 
         verify(flashcardRepository, times(1)).deleteById("1");
+        verify(searchIndex, times(1)).remove("1");
+        verify(nearDuplicateDetector, times(1)).remove("1");
+    }
+
+    @Test
+    void countsDeletedFlashcardInItsStudySession() {
+        when(flashcardRepository.findById("1")).thenReturn(Optional.of(flashcard));
+
+        flashcardService.deleteById("1");
+
+        verify(entityCounters, times(1)).flashcardDeleted(flashcard.getStudySessionId());
+    }
+
+    @Test
+    void removesDeletedFlashcardFromDeckAndDueQueue() {
+        when(flashcardRepository.findById("1")).thenReturn(Optional.of(flashcard));
+
+        flashcardService.deleteById("1");
+
+        verify(flashcardDecks, times(1)).remove("2", "1");
+        verify(dueCardQueues, times(1)).remove("2", "1");
+    }
+
+    @Test
+    void searchesIndexWithDefaultLimit() {
+        List<FlashcardSearchHit> hits = List.of(new FlashcardSearchHit(flashcard, 1.5));
+        when(searchIndex.search(eq("sky"), isNull(), eq(FlashcardServiceImpl.DEFAULT_SEARCH_LIMIT), any()))
+                .thenReturn(hits);
+
+        assertEquals(hits, flashcardService.search("sky", null, null));
+        verifyNoInteractions(studySessionService);
+    }
+
+    @Test
+    void searchScopedToStudySessionAssertsItExists() {
+        doThrow(new NotFoundException("Cannot find study session with id = 2"))
+                .when(studySessionService).assertExistsById("2");
+
+        assertThrows(NotFoundException.class, () -> flashcardService.search("sky", "2", 10));
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void searchCapsLimit() {
+        flashcardService.search("sky", null, 10_000);
+
+        verify(searchIndex, times(1)).search(eq("sky"), isNull(), eq(FlashcardServiceImpl.MAX_SEARCH_LIMIT), any());
+    }
+
+    @Test
+    void blankSearchQueryThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> flashcardService.search(" ", null, null));
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void findsFirstPageWithoutCursor() {
+        when(flashcardRepository.findAllByOrderByIdAsc(PageRequest.of(0, 3)))
+                .thenReturn(flashcards);
+
+        FlashcardPage page = flashcardService.findPage(null, 2);
+
+        assertEquals(flashcards, page.getFlashcards());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void returnsCursorToNextPageWhenMoreFlashcardsExist() {
+        Flashcard second = new Flashcard("2", "2", "What is the color of grass?", "Green");
+        Flashcard third = new Flashcard("3", "2", "What is the color of snow?", "White");
+        when(flashcardRepository.findAllByOrderByIdAsc(PageRequest.of(0, 3)))
+                .thenReturn(List.of(flashcard, second, third));
+        when(flashcardRepository.findAllByIdGreaterThanOrderByIdAsc("2", PageRequest.of(0, 3)))
+                .thenReturn(List.of(third));
+
+        FlashcardPage first = flashcardService.findPage(null, 2);
+        FlashcardPage next = flashcardService.findPage(first.getNext(), 2);
+
+        assertEquals(List.of(flashcard, second), first.getFlashcards());
+        assertEquals(List.of(third), next.getFlashcards());
+        assertNull(next.getNext());
+    }
+
+    @Test
+    void capsPageSize() {
+        when(flashcardRepository.findAllByOrderByIdAsc(
+                PageRequest.of(0, FlashcardServiceImpl.MAX_PAGE_SIZE + 1)))
+                .thenReturn(flashcards);
+
+        assertEquals(flashcards, flashcardService.findPage(null, 100_000).getFlashcards());
+    }
+
+    @Test
+    void throwsExceptionWhenPageSizeIsNotPositive() {
+        assertThrows(BadRequestException.class, () -> flashcardService.findPage(null, 0));
+        verifyNoInteractions(flashcardRepository);
+    }
+
+    @Test
+    void throwsExceptionWhenCursorIsInvalid() {
+        assertThrows(BadRequestException.class, () -> flashcardService.findPage("not a cursor!", 10));
+        verifyNoInteractions(flashcardRepository);
+    }
+
+    @Test
+    void exportsAllFlashcardsAndDetachesThem() {
+        when(flashcardRepository.streamAll()).thenReturn(Stream.of(flashcard));
+        List<Flashcard> exported = new ArrayList<>();
+
+        flashcardService.exportAll(exported::add);
+
+        assertEquals(flashcards, exported);
+        verify(entityManager, times(1)).detach(flashcard);
+    }
+
+    @Test
+    void exportsAllFlashcardsByStudySessionId() {
+        when(flashcardRepository.streamAllByStudySessionId("2")).thenReturn(Stream.of(flashcard));
+        List<Flashcard> exported = new ArrayList<>();
+
+        flashcardService.exportAllByStudySessionId("2", exported::add);
+
+        assertEquals(flashcards, exported);
+        verify(entityManager, times(1)).detach(flashcard);
+    }
+
+    @Test
+    void createsFlashcardsCheckingEachStudySessionOnce() {
+        FlashcardRequest first = new FlashcardRequest("1", "What is the color of the sky?", "Blue");
+        FlashcardRequest second = new FlashcardRequest("1", "What is the color of grass?", "Green");
+        Flashcard firstFlashcard = new Flashcard("10", "1", "What is the color of the sky?", "Blue");
+        Flashcard secondFlashcard = new Flashcard("11", "1", "What is the color of grass?", "Green");
+
+        when(studySessionService.existsById("1")).thenReturn(true);
+        when(mapper.flashcardFrom(first)).thenReturn(firstFlashcard);
+        when(mapper.flashcardFrom(second)).thenReturn(secondFlashcard);
+
+        List<FlashcardBatchItem> results = flashcardService.createFlashcards(List.of(first, second));
+
+        assertEquals(List.of(
+                FlashcardBatchItem.created(firstFlashcard),
+                FlashcardBatchItem.created(secondFlashcard)
+        ), results);
+        verify(studySessionService, times(1)).existsById("1");
+        verify(entityManager, times(1)).persist(firstFlashcard);
+        verify(entityManager, times(1)).persist(secondFlashcard);
+        verify(entityManager, times(1)).flush();
+        verify(dueCardQueues, times(1)).add("1", "10");
+        verify(dueCardQueues, times(1)).add("1", "11");
+        verify(dueCardQueues, never()).reschedule(any(), any(), any());
+        verify(entityCounters, times(1)).flashcardsCreated("1", 2L);
+    }
+
+    @Test
+    void reportsFailureForFlashcardsWithNonExistentStudySession() {
+        FlashcardRequest request = new FlashcardRequest("3", "What is tennis?", "A sport");
+        when(studySessionService.existsById("3")).thenReturn(false);
+
+        List<FlashcardBatchItem> results = flashcardService.createFlashcards(List.of(request, request));
+
+        assertEquals(List.of(
+                FlashcardBatchItem.failed("Cannot find study session with id = 3"),
+                FlashcardBatchItem.failed("Cannot find study session with id = 3")
+        ), results);
+        verify(studySessionService, times(1)).existsById("3");
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void flushesEveryBatch() {
+        FlashcardRequest request = new FlashcardRequest("1", "What is the color of the sky?", "Blue");
+        when(studySessionService.existsById("1")).thenReturn(true);
+        when(mapper.flashcardFrom(request)).thenReturn(flashcard);
+
+        flashcardService.createFlashcards(
+                Collections.nCopies(BATCH_SIZE * 2 + 1, request));
+
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void upsertsFlashcardReportingWhetherItWasCreated() {
+        when(flashcardRepository.upsert(flashcard)).thenReturn(new Upserted(true, 0L));
+
+        assertEquals(new UpsertResult<>(flashcard.withVersion(0L), true), flashcardService.upsert(flashcard));
+        verify(studySessionService, times(1)).assertExistsById("2");
+        verify(flashcardRepository, never()).save(any());
+    }
+
+    @Test
+    void updatingUpsertRequeuesOnlyTheFlashcardAtItsScheduledDueDate() {
+        Instant dueAt = Instant.parse("2024-01-02T00:00:00Z");
+        when(flashcardRepository.upsert(flashcard)).thenReturn(new Upserted(false, 1L));
+        when(reviewScheduleRepository.findById("1"))
+                .thenReturn(Optional.of(new ReviewSchedule("1", 2.5, 1, 1, dueAt)));
+
+        assertEquals(new UpsertResult<>(flashcard.withVersion(1L), false), flashcardService.upsert(flashcard));
+        verify(dueCardQueues, times(1)).reschedule("2", "1", dueAt);
+        verify(dueCardQueues, never()).add(any(), any());
+    }
+
+    @Test
+    void throwsConflictWhenFlashcardIsNotAtExpectedVersion() {
+        Flashcard stale = flashcard.withVersion(2L);
+        when(flashcardRepository.updateIfCurrent(stale)).thenReturn(false);
+
+        var exception = assertThrows(ConflictException.class, () -> flashcardService.upsert(stale));
+        assertEquals("Flashcard with id = 1 is not at version 2", exception.getMessage());
+        verify(flashcardRepository, never()).upsert(any());
+    }
+
+    @Test
+    void throwsExceptionWhenUpsertingFlashcardWithNonExistentStudySession() {
+        doThrow(new NotFoundException("Cannot find study session with id = 2"))
+                .when(studySessionService).assertExistsById("2");
+
+        assertThrows(NotFoundException.class, () -> flashcardService.upsert(flashcard));
+        verify(flashcardRepository, never()).upsert(any());
     }
 
 }
@@ -0,0 +1,86 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.service.impl.MinHashIndex.NearDuplicate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinHashIndexTest {
+
+    private static final double THRESHOLD = 0.8;
+
+    private final MinHashIndex index = new MinHashIndex(List.of(
+            new Flashcard("1", "a", "What kind of star is the sun?", "Yellow dwarf"),
+            new Flashcard("2", "a", "What is nuclear fusion?", "Two nuclei combine"),
+            new Flashcard("3", "a", "Which star is closest to the sun?", "Proxima Centauri")
+    ));
+
+    @Test
+    void estimatesSimilarityOfIdenticalTextsAsOne() {
+        assertEquals(1.0, MinHashIndex.similarity(
+                MinHashIndex.signature("What is nuclear fusion?"),
+                MinHashIndex.signature("what is NUCLEAR fusion")));
+    }
+
+    @Test
+    void estimatesLowSimilarityOfUnrelatedTexts() {
+        assertTrue(MinHashIndex.similarity(
+                MinHashIndex.signature("What is nuclear fusion?"),
+                MinHashIndex.signature("Who directed the film Vertigo?")) < 0.3);
+    }
+
+    @Test
+    void findsNearDuplicateQuestion() {
+        Optional<NearDuplicate> closest = index.closest("What kind of star is the Sun", THRESHOLD);
+
+        assertTrue(closest.isPresent());
+        assertEquals("1", closest.get().id());
+        assertTrue(closest.get().similarity() >= THRESHOLD);
+    }
+
+    @Test
+    void findsNearDuplicateWithSmallEdit() {
+        assertEquals(Optional.of("2"),
+                index.closest("What is nuclear fusion, exactly?", 0.6).map(NearDuplicate::id));
+    }
+
+    @Test
+    void ignoresMerelySimilarQuestions() {
+        assertTrue(index.closest("Which planet is closest to the sun?", THRESHOLD).isEmpty());
+        assertTrue(index.closest("What is nuclear fission?", THRESHOLD).isEmpty());
+    }
+
+    @Test
+    void ignoresTextsWithoutTokens() {
+        assertTrue(index.closest("?!", 0.0).isEmpty());
+    }
+
+    @Test
+    void findsPutQuestions() {
+        index.put("4", "Who painted the Mona Lisa?");
+
+        assertEquals(Optional.of("4"), index.closest("Who painted the Mona Lisa", THRESHOLD).map(NearDuplicate::id));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void replacesQuestionOnPut() {
+        index.put("2", "Who painted the Mona Lisa?");
+
+        assertTrue(index.closest("What is nuclear fusion?", THRESHOLD).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void forgetsRemovedQuestions() {
+        index.remove("1");
+
+        assertTrue(index.closest("What kind of star is the sun?", THRESHOLD).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+}
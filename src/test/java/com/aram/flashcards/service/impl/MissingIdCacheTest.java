@@ -0,0 +1,77 @@
+package com.aram.flashcards.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MissingIdCacheTest {
+
+    private final MissingIdCache cache =
+            new MissingIdCache("test.missing-ids", new SimpleMeterRegistry(), 100, Duration.ofSeconds(30));
+
+    @Test
+    void remembersMissingIds() {
+        AtomicInteger queries = new AtomicInteger();
+
+        cache.find("1", id -> missing(queries));
+        cache.find("1", id -> missing(queries));
+
+        assertFalse(cache.exists("1", id -> queries.incrementAndGet() > 0));
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void doesNotRememberExistingIds() {
+        AtomicInteger queries = new AtomicInteger();
+
+        cache.exists("1", id -> queries.incrementAndGet() > 0);
+        cache.exists("1", id -> queries.incrementAndGet() > 0);
+
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void forgetsInvalidatedIds() {
+        cache.find("1", id -> Optional.empty());
+        cache.find("2", id -> Optional.empty());
+        cache.find("3", id -> Optional.empty());
+
+        cache.invalidate("1");
+        cache.invalidateAll(List.of("2"));
+
+        assertEquals(Optional.of("1"), cache.find("1", Optional::of));
+        assertEquals(Optional.of("2"), cache.find("2", Optional::of));
+        assertEquals(Optional.empty(), cache.find("3", Optional::of));
+    }
+
+    @Test
+    void forgetsAllIds() {
+        cache.find("1", id -> Optional.empty());
+
+        cache.invalidateAll();
+
+        assertEquals(Optional.of("1"), cache.find("1", Optional::of));
+    }
+
+    @Test
+    void doesNotRememberMissIfIdWasInvalidatedDuringLookup() {
+        cache.find("1", id -> {
+            cache.invalidate(id);
+            return Optional.empty();
+        });
+
+        assertEquals(Optional.of("1"), cache.find("1", Optional::of));
+    }
+
+    private static Optional<String> missing(AtomicInteger queries) {
+        queries.incrementAndGet();
+        return Optional.empty();
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Category;
+import com.aram.flashcards.model.StudySession;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameIndexTest {
+
+    private final CategoryNameIndex index = new CategoryNameIndex();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Category> stored = List.of(
+            new Category("1", "Music"),
+            new Category("2", "Mathematics"),
+            new Category("3", "Medicine"),
+            new Category("4", "Économie"),
+            new Category("5", "Art")
+    );
+
+    @Test
+    void completesPrefixInNameOrder() {
+        assertEquals(List.of("Mathematics", "Medicine", "Music"), names(complete("m", 10)));
+    }
+
+    @Test
+    void completesCaseAndAccentInsensitively() {
+        assertEquals(List.of("Économie"), names(complete("eco", 10)));
+        assertEquals(List.of("Music"), names(complete("MUS", 10)));
+    }
+
+    @Test
+    void limitsNumberOfMatches() {
+        assertEquals(List.of("Mathematics", "Medicine"), names(complete("m", 2)));
+    }
+
+    @Test
+    void completesEmptyPrefixWithAllNames() {
+        assertEquals(5, complete("", 10).size());
+    }
+
+    @Test
+    void returnsNoMatchesForUnknownPrefix() {
+        assertTrue(complete("zoo", 10).isEmpty());
+        assertTrue(complete("musical", 10).isEmpty());
+    }
+
+    @Test
+    void loadsNamesOnlyOnce() {
+        complete("m", 10);
+        complete("a", 10);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void ignoresUpdatesBeforeLoading() {
+        index.put(new Category("6", "Mechanics"));
+
+        assertEquals(List.of("Mathematics", "Medicine", "Music"), names(complete("m", 10)));
+    }
+
+    @Test
+    void addsPutNames() {
+        complete("m", 10);
+        index.put(new Category("6", "Mechanics"));
+
+        assertEquals(List.of("Mathematics", "Mechanics", "Medicine", "Music"), names(complete("m", 10)));
+    }
+
+    @Test
+    void replacesRenamedEntries() {
+        complete("m", 10);
+        index.put(new Category("1", "Art history"));
+
+        assertEquals(List.of("Mathematics", "Medicine"), names(complete("m", 10)));
+        assertEquals(List.of("Art", "Art history"), names(complete("art", 10)));
+    }
+
+    @Test
+    void keepsNamesOrderedAcrossPutsOfSameName() {
+        complete("m", 10);
+        index.put(new Category("8", "Music"));
+        index.put(new Category("0", "Music"));
+        index.put(new Category("8", "Musical"));
+
+        assertEquals(List.of("0", "1", "8"), complete("mus", 10).stream().map(Category::getId).toList());
+    }
+
+    @Test
+    void removesEntriesById() {
+        complete("m", 10);
+        index.remove("2");
+
+        assertEquals(List.of("Medicine", "Music"), names(complete("m", 10)));
+    }
+
+    @Test
+    void removesStudySessionsOfCategory() {
+        StudySessionNameIndex studySessions = new StudySessionNameIndex();
+        List<StudySession> sessions = List.of(
+                new StudySession("1", "a", "Chords"),
+                new StudySession("2", "b", "Chemical reactions"));
+        studySessions.complete("", 10, () -> sessions);
+
+        studySessions.removeAllByCategoryId("a");
+
+        assertEquals(List.of(sessions.get(1)), studySessions.complete("ch", 10, List::of));
+    }
+
+    private List<Category> complete(String prefix, int limit) {
+        return index.complete(prefix, limit, () -> {
+            loads.incrementAndGet();
+            return stored;
+        });
+    }
+
+    private static List<String> names(List<Category> categories) {
+        return categories.stream().map(Category::getName).toList();
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.ReviewSchedule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class ReviewEventQueueTest {
+
+    private final ReviewEventWriter writer = mock(ReviewEventWriter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReviewEventQueue queue;
+
+    @AfterEach
+    void stop() {
+        if (queue != null && queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void writesAcceptedEventsInBatchesOfFlushSize() throws InterruptedException {
+        List<List<ReviewEvent>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch written = new CountDownLatch(3);
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            List<ReviewEvent> batch = List.copyOf(invocation.getArgument(0));
+            batches.add(batch);
+            written.countDown();
+            return batch.size();
+        });
+        queue = new ReviewEventQueue(writer, meterRegistry, 100, 2, Duration.ofSeconds(1), Duration.ofSeconds(5));
+        queue.start();
+
+        assertTrue(queue.offer(events(5)));
+
+        assertTrue(written.await(5, SECONDS));
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+    }
+
+    @Test
+    void rejectsEventsBeyondCapacity() {
+        queue = new ReviewEventQueue(writer, meterRegistry, 3, 10, Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+        assertFalse(queue.offer(events(1)));
+
+        queue.start();
+        assertFalse(queue.offer(events(4)));
+        verifyNoInteractions(writer);
+        assertEquals(5.0, meterRegistry.counter("reviews.ingestion.events", "outcome", "rejected").count());
+    }
+
+    @Test
+    void releasesCapacityAfterFailedBatch() throws InterruptedException {
+        CountDownLatch attempted = new CountDownLatch(1);
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            attempted.countDown();
+            throw new IllegalStateException("database is down");
+        });
+        queue = new ReviewEventQueue(writer, meterRegistry, 2, 2, Duration.ofMillis(10), Duration.ofSeconds(1));
+        queue.start();
+
+        assertTrue(queue.offer(events(2)));
+        assertTrue(attempted.await(5, SECONDS));
+        queue.stop();
+
+        assertEquals(2.0, meterRegistry.counter("reviews.ingestion.events", "outcome", "dropped").count());
+    }
+
+    @Test
+    void retriesBatchThatLostOptimisticLockingRace() {
+        when(writer.write(anyList()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ReviewSchedule.class, "1"))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        queue = new ReviewEventQueue(writer, meterRegistry, 100, 10, Duration.ofSeconds(10), Duration.ofSeconds(5));
+        queue.start();
+
+        assertTrue(queue.offer(events(2)));
+        queue.stop();
+
+        verify(writer, times(2)).write(anyList());
+        assertEquals(2.0, meterRegistry.counter("reviews.ingestion.events", "outcome", "written").count());
+        assertEquals(0.0, meterRegistry.counter("reviews.ingestion.events", "outcome", "dropped").count());
+    }
+
+    @Test
+    void drainsBufferedEventsOnStop() {
+        when(writer.write(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        queue = new ReviewEventQueue(writer, meterRegistry, 100, 10, Duration.ofSeconds(10), Duration.ofSeconds(5));
+        queue.start();
+
+        assertTrue(queue.offer(events(3)));
+        queue.stop();
+
+        assertEquals(3.0, meterRegistry.counter("reviews.ingestion.events", "outcome", "written").count());
+    }
+
+    @Test
+    void writesEveryAcceptedEventWhenStoppedDuringOffers() throws InterruptedException {
+        when(writer.write(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        queue = new ReviewEventQueue(writer, meterRegistry, 100_000, 10, Duration.ofMillis(1), Duration.ofSeconds(5));
+        queue.start();
+        CountDownLatch offering = new CountDownLatch(4);
+        List<Thread> producers = IntStream.range(0, 4)
+                .mapToObj(i -> Thread.ofPlatform().start(() -> {
+                    offering.countDown();
+                    while (queue.offer(events(1))) {
+                        Thread.onSpinWait();
+                    }
+                }))
+                .toList();
+
+        assertTrue(offering.await(5, SECONDS));
+        queue.stop();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(meterRegistry.counter("reviews.ingestion.events", "outcome", "accepted").count(),
+                meterRegistry.counter("reviews.ingestion.events", "outcome", "written").count());
+    }
+
+    private List<ReviewEvent> events(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ReviewEvent(String.valueOf(i), 4, Instant.EPOCH))
+                .toList();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.ReviewLog;
+import com.aram.flashcards.model.ReviewSchedule;
+import com.aram.flashcards.repository.ReviewScheduleRepository;
+import com.aram.flashcards.service.FlashcardService;
+import com.aram.flashcards.service.IdGenerator;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReviewEventWriterTest {
+
+    @Mock
+    private ReviewScheduleRepository reviewScheduleRepository;
+
+    @Mock
+    private FlashcardService flashcardService;
+
+    @Mock
+    private IdGenerator idGenerator;
+
+    @Mock
+    private DueCardQueues dueCardQueues;
+
+    @Mock
+    private FlashcardDecks flashcardDecks;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private ReviewEventWriter writer;
+
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void appliesEventsInOrderAndPersistsOneLogPerEvent() {
+        when(flashcardService.findAllById(anyCollection()))
+                .thenReturn(List.of(new Flashcard("1", "2", "What is the color of the sky?", "Blue")));
+        when(reviewScheduleRepository.findAllById(anyCollection())).thenReturn(List.of());
+        when(idGenerator.generateId()).thenReturn("a", "b");
+
+        int written = writer.write(List.of(new ReviewEvent("1", 4, now), new ReviewEvent("1", 4, now)));
+
+        assertEquals(2, written);
+        verify(entityManager, times(2)).persist(any(ReviewLog.class));
+        ArgumentCaptor<ReviewSchedule> schedule = ArgumentCaptor.forClass(ReviewSchedule.class);
+        verify(entityManager, times(1)).persist(schedule.capture());
+        assertEquals(2, schedule.getValue().getRepetitions());
+        assertEquals(6, schedule.getValue().getIntervalDays());
+        verify(dueCardQueues, times(1)).reschedule("2", "1", schedule.getValue().getDueAt());
+        verify(flashcardDecks, times(1)).reweigh("2", "1", schedule.getValue().getEaseFactor());
+    }
+
+    @Test
+    void mergesExistingSchedule() {
+        ReviewSchedule stored = new ReviewSchedule("1", 2.5, 1, 1, now);
+        when(flashcardService.findAllById(anyCollection()))
+                .thenReturn(List.of(new Flashcard("1", "2", "What is the color of the sky?", "Blue")));
+        when(reviewScheduleRepository.findAllById(anyCollection())).thenReturn(List.of(stored));
+
+        writer.write(List.of(new ReviewEvent("1", 5, now)));
+
+        ArgumentCaptor<ReviewSchedule> schedule = ArgumentCaptor.forClass(ReviewSchedule.class);
+        verify(entityManager, times(1)).merge(schedule.capture());
+        assertEquals(6, schedule.getValue().getIntervalDays());
+    }
+
+    @Test
+    void skipsEventsForUnknownFlashcards() {
+        when(flashcardService.findAllById(anyCollection())).thenReturn(List.of());
+        when(reviewScheduleRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+        assertEquals(0, writer.write(List.of(new ReviewEvent("1", 4, now))));
+        verifyNoInteractions(entityManager, dueCardQueues);
+    }
+
+}
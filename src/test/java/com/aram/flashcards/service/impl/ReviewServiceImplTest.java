@@ -0,0 +1,261 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.ReviewLog;
+import com.aram.flashcards.model.ReviewSchedule;
+import com.aram.flashcards.repository.DueCard;
+import com.aram.flashcards.repository.ReviewLogRepository;
+import com.aram.flashcards.repository.ReviewScheduleRepository;
+import com.aram.flashcards.service.FlashcardService;
+import com.aram.flashcards.service.IdGenerator;
+import com.aram.flashcards.service.StudySessionService;
+import com.aram.flashcards.service.dto.ReviewRequest;
+import com.aram.flashcards.service.exception.BadRequestException;
+import com.aram.flashcards.service.exception.NotFoundException;
+import com.aram.flashcards.service.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReviewServiceImplTest {
+
+    @Mock
+    private ReviewScheduleRepository reviewScheduleRepository;
+
+    @Mock
+    private ReviewLogRepository reviewLogRepository;
+
+    @Mock
+    private FlashcardService flashcardService;
+
+    @Mock
+    private StudySessionService studySessionService;
+
+    @Mock
+    private IdGenerator idGenerator;
+
+    @Mock
+    private DueCardQueues dueCardQueues;
+
+    @Mock
+    private FlashcardDecks flashcardDecks;
+
+    @Mock
+    private ReviewEventQueue reviewEventQueue;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReviewServiceImpl reviewService;
+
+    private Flashcard flashcard;
+
+    @BeforeEach
+    void init() {
+        this.flashcard = new Flashcard("1", "2", "What is the color of the sky?", "Blue");
+    }
+
+    @Test
+    void firstReviewSchedulesFlashcardAndWritesLog() {
+        when(flashcardService.findById("1")).thenReturn(flashcard);
+        when(reviewScheduleRepository.findById("1")).thenReturn(Optional.empty());
+        when(reviewScheduleRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(idGenerator.generateId()).thenReturn("log");
+
+        ReviewSchedule schedule = reviewService.review(new ReviewRequest("1", 4));
+
+        assertEquals(1, schedule.getRepetitions());
+        assertEquals(1, schedule.getIntervalDays());
+        ArgumentCaptor<ReviewLog> log = ArgumentCaptor.forClass(ReviewLog.class);
+        verify(reviewLogRepository, times(1)).save(log.capture());
+        assertEquals("log", log.getValue().getId());
+        assertEquals("1", log.getValue().getFlashcardId());
+        assertEquals(4, log.getValue().getGrade());
+        verify(dueCardQueues, times(1)).reschedule("2", "1", schedule.getDueAt());
+        verify(flashcardDecks, times(1)).reweigh("2", "1", schedule.getEaseFactor());
+    }
+
+    @Test
+    void reviewContinuesFromStoredSchedule() {
+        when(flashcardService.findById("1")).thenReturn(flashcard);
+        when(reviewScheduleRepository.findById("1"))
+                .thenReturn(Optional.of(new ReviewSchedule("1", 2.5, 6, 2, Instant.EPOCH)));
+        when(reviewScheduleRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReviewSchedule schedule = reviewService.review(new ReviewRequest("1", 4));
+
+        assertEquals(3, schedule.getRepetitions());
+        assertEquals(15, schedule.getIntervalDays());
+    }
+
+    @Test
+    void retriesReviewFromFreshScheduleWhenItWasUpdatedConcurrently() {
+        when(flashcardService.findById("1")).thenReturn(flashcard);
+        when(reviewScheduleRepository.findById("1")).thenReturn(
+                Optional.of(new ReviewSchedule("1", 2.5, 1, 1, Instant.EPOCH, 0L)),
+                Optional.of(new ReviewSchedule("1", 2.5, 6, 2, Instant.EPOCH, 1L)));
+        when(reviewScheduleRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ReviewSchedule.class, "1"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReviewSchedule schedule = reviewService.review(new ReviewRequest("1", 4));
+
+        assertEquals(3, schedule.getRepetitions());
+        assertEquals(1L, schedule.getVersion());
+        verify(reviewLogRepository, times(1)).save(any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void givesUpAfterRepeatedConcurrentUpdates() {
+        when(flashcardService.findById("1")).thenReturn(flashcard);
+        when(reviewScheduleRepository.findById("1")).thenReturn(Optional.empty());
+        when(reviewScheduleRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> reviewService.review(new ReviewRequest("1", 4)));
+        verify(reviewScheduleRepository, times(ReviewServiceImpl.MAX_REVIEW_ATTEMPTS)).saveAndFlush(any());
+        verifyNoInteractions(reviewLogRepository, dueCardQueues);
+    }
+
+    @Test
+    void reviewOfUnknownFlashcardThrowsNotFound() {
+        when(flashcardService.findById("1")).thenThrow(new NotFoundException("Cannot find flashcard with id = 1"));
+
+        assertThrows(NotFoundException.class, () -> reviewService.review(new ReviewRequest("1", 4)));
+        verifyNoInteractions(reviewScheduleRepository, reviewLogRepository, dueCardQueues);
+    }
+
+    @Test
+    void submitsReviewEventsToQueue() {
+        when(reviewEventQueue.offer(anyList())).thenReturn(true);
+
+        reviewService.submit(List.of(new ReviewRequest("1", 4), new ReviewRequest("3", 2)));
+
+        ArgumentCaptor<List<ReviewEvent>> events = ArgumentCaptor.captor();
+        verify(reviewEventQueue, times(1)).offer(events.capture());
+        assertEquals(List.of("1", "3"), events.getValue().stream().map(ReviewEvent::getFlashcardId).toList());
+        assertEquals(List.of(4, 2), events.getValue().stream().map(ReviewEvent::getGrade).toList());
+    }
+
+    @Test
+    void submittingToFullQueueThrowsTooManyRequests() {
+        when(reviewEventQueue.offer(anyList())).thenReturn(false);
+
+        assertThrows(TooManyRequestsException.class,
+                () -> reviewService.submit(List.of(new ReviewRequest("1", 4))));
+    }
+
+    @Test
+    void findsDueFlashcardsInQueueOrder() {
+        Flashcard other = new Flashcard("3", "2", "What is the color of grass?", "Green");
+        when(dueCardQueues.due(eq("2"), any(), eq(20), any())).thenReturn(List.of("3", "1"));
+        when(flashcardService.findAllById(List.of("3", "1"))).thenReturn(List.of(flashcard, other));
+
+        assertEquals(List.of(other, flashcard), reviewService.findDue("2", null));
+        verify(studySessionService, times(1)).assertExistsById("2");
+    }
+
+    @Test
+    void loadsUnscheduledFlashcardsBeforeScheduledOnes() {
+        Instant until = Instant.parse("2024-01-01T00:00:00Z");
+        Instant dueAt = until.minusSeconds(60);
+        when(reviewScheduleRepository.findUnscheduledFlashcardIdsByStudySessionId("2", PageRequest.of(0, 20)))
+                .thenReturn(List.of("3"));
+        when(reviewScheduleRepository.findDueCardsByStudySessionId("2", until, PageRequest.of(0, 19)))
+                .thenReturn(List.of(new DueCard("1", dueAt)));
+        when(dueCardQueues.due(eq("2"), any(), eq(20), any())).thenAnswer(invocation -> {
+            BiFunction<Instant, Integer, List<DueCard>> loader = invocation.getArgument(3);
+            assertEquals(List.of(new DueCard("3", null), new DueCard("1", dueAt)), loader.apply(until, 20));
+            return List.of();
+        });
+
+        assertEquals(List.of(), reviewService.findDue("2", null));
+    }
+
+    @Test
+    void dropsStaleEntriesFromQueue() {
+        Flashcard moved = new Flashcard("3", "4", "What is the color of grass?", "Green");
+        when(dueCardQueues.due(eq("2"), any(), eq(20), any()))
+                .thenReturn(List.of("3", "1"))
+                .thenReturn(List.of("1"));
+        when(flashcardService.findAllById(List.of("3", "1"))).thenReturn(List.of(flashcard, moved));
+        when(flashcardService.findAllById(List.of("1"))).thenReturn(List.of(flashcard));
+
+        assertEquals(List.of(flashcard), reviewService.findDue("2", null));
+        verify(dueCardQueues, times(1)).remove("2", "3");
+    }
+
+    @Test
+    void findingDueFlashcardsWithNonPositiveLimitThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> reviewService.findDue("2", 0));
+        verify(dueCardQueues, never()).due(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void samplesFlashcardsInSampledOrder() {
+        Flashcard other = new Flashcard("3", "2", "What is the color of grass?", "Green");
+        when(flashcardDecks.sample(eq("2"), eq(20), eq(true), any())).thenReturn(List.of("3", "1"));
+        when(flashcardService.findAllById(List.of("3", "1"))).thenReturn(List.of(flashcard, other));
+
+        assertEquals(List.of(other, flashcard), reviewService.sample("2", null, true));
+        verify(studySessionService, times(1)).assertExistsById("2");
+    }
+
+    @Test
+    void dropsStaleEntriesFromDeck() {
+        when(flashcardDecks.sample(eq("2"), eq(2), eq(false), any()))
+                .thenReturn(List.of("3", "1"))
+                .thenReturn(List.of("1"));
+        when(flashcardService.findAllById(List.of("3", "1"))).thenReturn(List.of(flashcard));
+        when(flashcardService.findAllById(List.of("1"))).thenReturn(List.of(flashcard));
+
+        assertEquals(List.of(flashcard), reviewService.sample("2", 2, false));
+        verify(flashcardDecks, times(1)).remove("2", "3");
+    }
+
+    @Test
+    void samplingWithNonPositiveSizeThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> reviewService.sample("2", -1, false));
+        verifyNoInteractions(flashcardDecks);
+    }
+
+    @Test
+    void findsReviewLogOfFlashcard() {
+        List<ReviewLog> logs = List.of(new ReviewLog("log", "1", 4, 2.5, 1, Instant.EPOCH));
+        when(flashcardService.existsById("1")).thenReturn(true);
+        when(reviewLogRepository.findAllByFlashcardIdOrderByReviewedAtAsc("1")).thenReturn(logs);
+
+        assertEquals(logs, reviewService.findAllByFlashcardId("1"));
+    }
+
+    @Test
+    void findingReviewLogOfUnknownFlashcardThrowsNotFound() {
+        when(flashcardService.existsById("1")).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> reviewService.findAllByFlashcardId("1"));
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.model.ReviewSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Sm2SchedulerTest {
+
+    private final Sm2Scheduler scheduler = new Sm2Scheduler();
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void initialScheduleIsDueImmediately() {
+        ReviewSchedule initial = scheduler.initial("1");
+
+        assertEquals("1", initial.getFlashcardId());
+        assertEquals(2.5, initial.getEaseFactor());
+        assertEquals(0, initial.getRepetitions());
+        assertEquals(Instant.EPOCH, initial.getDueAt());
+    }
+
+    @Test
+    void passingReviewsGrowIntervalOneThenSixThenByEaseFactor() {
+        ReviewSchedule first = scheduler.next(scheduler.initial("1"), 4, now);
+        ReviewSchedule second = scheduler.next(first, 4, now);
+        ReviewSchedule third = scheduler.next(second, 4, now);
+
+        assertEquals(1, first.getIntervalDays());
+        assertEquals(6, second.getIntervalDays());
+        assertEquals(15, third.getIntervalDays());
+        assertEquals(3, third.getRepetitions());
+        assertEquals(now.plus(Duration.ofDays(15)), third.getDueAt());
+    }
+
+    @Test
+    void perfectGradeIncreasesEaseFactor() {
+        ReviewSchedule next = scheduler.next(scheduler.initial("1"), 5, now);
+
+        assertEquals(2.6, next.getEaseFactor(), 1e-9);
+    }
+
+    @Test
+    void failingGradeResetsRepetitionsAndInterval() {
+        ReviewSchedule learned = new ReviewSchedule("1", 2.5, 15, 3, now);
+
+        ReviewSchedule next = scheduler.next(learned, 2, now);
+
+        assertEquals(0, next.getRepetitions());
+        assertEquals(1, next.getIntervalDays());
+        assertEquals(2.18, next.getEaseFactor(), 1e-9);
+    }
+
+    @Test
+    void easeFactorNeverDropsBelowMinimum() {
+        ReviewSchedule next = scheduler.next(new ReviewSchedule("1", 1.3, 1, 0, now), 0, now);
+
+        assertEquals(1.3, next.getEaseFactor());
+    }
+
+}
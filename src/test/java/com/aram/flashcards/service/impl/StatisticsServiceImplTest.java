@@ -0,0 +1,76 @@
+package com.aram.flashcards.service.impl;
+
+import com.aram.flashcards.repository.CategoryCount;
+import com.aram.flashcards.repository.CategoryRepository;
+import com.aram.flashcards.repository.StudySessionCount;
+import com.aram.flashcards.repository.StudySessionRepository;
+import com.aram.flashcards.service.dto.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StatisticsServiceImplTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private StudySessionRepository studySessionRepository;
+
+    @Spy
+    private EntityCounters counters = new EntityCounters();
+
+    @InjectMocks
+    private StatisticsServiceImpl statisticsService;
+
+    @Test
+    void reconcilesOnFirstReadOnly() {
+        when(categoryRepository.countStudySessionsByCategory()).thenReturn(List.of(new CategoryCount("a", 1)));
+        when(studySessionRepository.countFlashcardsByStudySession())
+                .thenReturn(List.of(new StudySessionCount("1", "a", 4)));
+
+        Statistics statistics = statisticsService.findStatistics();
+        statisticsService.findStatistics();
+
+        assertEquals(Map.of("a", 1L), statistics.getStudySessionsByCategory());
+        assertEquals(Map.of("1", 4L), statistics.getFlashcardsByStudySession());
+        assertNotNull(statistics.getReconciledAt());
+        verify(categoryRepository, times(1)).countStudySessionsByCategory();
+    }
+
+    @Test
+    void reconcilesAgainWhenStale() {
+        statisticsService.findStatistics();
+        counters.markStale();
+        statisticsService.findStatistics();
+
+        verify(categoryRepository, times(2)).countStudySessionsByCategory();
+        verify(studySessionRepository, times(2)).countFlashcardsByStudySession();
+    }
+
+    @Test
+    void periodicReconciliationSkipsUnloadedCounters() {
+        statisticsService.reconcileIfLoaded();
+
+        verifyNoInteractions(categoryRepository, studySessionRepository);
+    }
+
+    @Test
+    void periodicReconciliationRefreshesLoadedCounters() {
+        statisticsService.findStatistics();
+        statisticsService.reconcileIfLoaded();
+
+        verify(categoryRepository, times(2)).countStudySessionsByCategory();
+    }
+
+}
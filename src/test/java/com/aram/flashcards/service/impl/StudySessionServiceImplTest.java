@@ -2,22 +2,30 @@ package com.aram.flashcards.service.impl;
 
 import com.aram.flashcards.model.StudySession;
 import com.aram.flashcards.repository.StudySessionRepository;
+import com.aram.flashcards.repository.Upserted;
 import com.aram.flashcards.service.CategoryService;
 import com.aram.flashcards.service.dto.StudySessionRequest;
+import com.aram.flashcards.service.dto.UpsertResult;
+import com.aram.flashcards.service.exception.ConflictException;
 import com.aram.flashcards.service.exception.NotFoundException;
 import com.aram.flashcards.service.mapper.StudySessionMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +40,26 @@ public class StudySessionServiceImplTest {
     @Mock
     private StudySessionMapper studySessionMapper;
 
+    @Spy
+    private StudySessionExistenceCache existenceCache =
+            new StudySessionExistenceCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    @Spy
+    private StudySessionMissingIdCache missingIds =
+            new StudySessionMissingIdCache(new SimpleMeterRegistry(), 100, Duration.ofSeconds(30));
+
+    @Mock
+    private FlashcardSearchIndex flashcardSearchIndex;
+
+    @Mock
+    private StudySessionNameIndex nameIndex;
+
+    @Mock
+    private EntityCounters entityCounters;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
     @InjectMocks
     private StudySessionServiceImpl studySessionService;
 
@@ -69,6 +97,26 @@ public class StudySessionServiceImplTest {
         verify(studySessionRepository, times(1)).findById("1");
     }
 
+    @Test
+    void answersRepeatedLookupsOfUnknownStudySessionWithoutQuery() {
+        when(studySessionRepository.existsById("1")).thenReturn(false);
+
+        assertFalse(studySessionService.existsById("1"));
+        assertThrows(NotFoundException.class, () -> studySessionService.assertExistsById("1"));
+        verify(studySessionRepository, times(1)).existsById("1");
+    }
+
+    @Test
+    void findsStudySessionPutAfterLookupMissedIt() {
+        when(studySessionRepository.findById("1")).thenReturn(Optional.empty(), Optional.of(studySession));
+        when(studySessionRepository.upsert(studySession)).thenReturn(new Upserted(true, 0L));
+
+        assertThrows(NotFoundException.class, () -> studySessionService.findById("1"));
+        studySessionService.upsert(studySession);
+
+        assertEquals(studySession, studySessionService.findById("1"));
+    }
+
     @Test
     void findsAllByCategoryId() {
         when(studySessionRepository.findAllByCategoryId("1"))
@@ -100,14 +148,6 @@ public class StudySessionServiceImplTest {
         verify(studySessionRepository, times(1)).save(studySession);
     }
 
-    @Test
-    void testSave() {
-        when(studySessionRepository.save(studySession)).thenReturn(studySession);
-
-        assertEquals(studySession, studySessionService.save(studySession));
-        verify(studySessionRepository, times(1)).save(studySession);
-    }
-
     @Test
     void testExistsById() {
         when(studySessionRepository.existsById("1")).thenReturn(true);
@@ -125,6 +165,17 @@ public class StudySessionServiceImplTest {
 
         studySessionService.deleteById("1");
         verify(studySessionRepository, times(1)).deleteById("1");
+        verify(flashcardSearchIndex, times(1)).removeAllByStudySessionId("1");
+        verify(nameIndex, times(1)).remove("1");
+        verify(entityCounters, times(1)).studySessionDeleted("1");
+    }
+
+    @Test
+    void autocompletesNamesWithinLimit() {
+        StudySession studySession = new StudySession("1", "2", "Chords");
+        when(nameIndex.complete(eq("ch"), eq(5), any())).thenReturn(List.of(studySession));
+
+        assertEquals(List.of(studySession), studySessionService.autocomplete("ch", 5));
     }
 
     @Test
@@ -165,4 +216,52 @@ public class StudySessionServiceImplTest {
                 () -> studySessionService.idFromStudySessionWithName("Drawing techniques"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void assertsExistenceFromCacheAfterFirstCheck() {
+        when(studySessionRepository.existsById("1")).thenReturn(true);
+
+        studySessionService.assertExistsById("1");
+        studySessionService.assertExistsById("1");
+        assertTrue(studySessionService.existsById("1"));
+        verify(studySessionRepository, times(1)).existsById("1");
+    }
+
+
+    @Test
+    void invalidatesExistenceWhenDeletingStudySession() {
+        when(studySessionRepository.existsById("1")).thenReturn(true, false);
+
+        studySessionService.deleteById("1");
+        assertFalse(studySessionService.existsById("1"));
+        verify(studySessionRepository, times(2)).existsById("1");
+    }
+
+    @Test
+    void upsertsStudySessionReportingWhetherItWasCreated() {
+        when(studySessionRepository.upsert(studySession)).thenReturn(new Upserted(false, 5L));
+
+        assertEquals(new UpsertResult<>(studySession.withVersion(5L), false), studySessionService.upsert(studySession));
+        verify(categoryService, times(1)).assertExistsById("2");
+        verify(studySessionRepository, never()).save(any());
+    }
+
+    @Test
+    void throwsConflictWhenStudySessionIsNotAtExpectedVersion() {
+        StudySession stale = studySession.withVersion(1L);
+        when(studySessionRepository.updateIfCurrent(stale)).thenReturn(false);
+
+        var exception = assertThrows(ConflictException.class, () -> studySessionService.upsert(stale));
+        assertEquals("Study session with id = 1 is not at version 1", exception.getMessage());
+        verify(studySessionRepository, never()).upsert(any());
+    }
+
+    @Test
+    void throwsExceptionWhenUpsertingStudySessionWithNonExistentCategory() {
+        doThrow(new NotFoundException("Cannot find category with id = 2"))
+                .when(categoryService).assertExistsById("2");
+
+        assertThrows(NotFoundException.class, () -> studySessionService.upsert(studySession));
+        verify(studySessionRepository, never()).upsert(any());
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.aram.flashcards.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextFoldingTest {
+
+    @Test
+    void foldsCaseAndStripsDiacritics() {
+        assertEquals("economie", TextFolding.fold("Économie"));
+        assertEquals("naive cafe", TextFolding.fold("NAÏVE Café"));
+    }
+
+    @Test
+    void keepsSeparatorsAndDigits() {
+        assertEquals("h2o, co2", TextFolding.fold("H2O, CO2"));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.aram.flashcards.service.mapper;
+
+import com.aram.flashcards.service.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Param({"random", "time-ordered"})
+    private String strategy;
+
+    private IdGenerator idGenerator;
+
+    @Setup
+    public void setUp() {
+        idGenerator = idGenerator(strategy);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generateId() {
+        return idGenerator.generateId();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String generateIdContended() {
+        return idGenerator.generateId();
+    }
+
+    static IdGenerator idGenerator(String strategy) {
+        return switch (strategy) {
+            case "random" -> new IdGeneratorImpl();
+            case "time-ordered" -> new TimeOrderedIdGenerator();
+            default -> throw new IllegalArgumentException("unknown id strategy: " + strategy);
+        };
+    }
+
+}
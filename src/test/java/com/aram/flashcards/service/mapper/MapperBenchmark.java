@@ -0,0 +1,92 @@
+package com.aram.flashcards.service.mapper;
+
+import com.aram.flashcards.model.Category;
+import com.aram.flashcards.model.Flashcard;
+import com.aram.flashcards.model.StudySession;
+import com.aram.flashcards.service.IdGenerator;
+import com.aram.flashcards.service.dto.CategoryRequest;
+import com.aram.flashcards.service.dto.FlashcardRequest;
+import com.aram.flashcards.service.dto.StudySessionRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.aram.flashcards.service.mapper.IdGeneratorBenchmark.idGenerator;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"random", "time-ordered"})
+    private String strategy;
+
+    private CategoryMapper categoryMapper;
+    private StudySessionMapper studySessionMapper;
+    private FlashcardMapper flashcardMapper;
+
+    private final CategoryRequest categoryRequest = new CategoryRequest("Astronomy");
+    private final StudySessionRequest studySessionRequest = new StudySessionRequest(
+            "0190b6f2-7c1a-7000-8000-000000000001", "Solar system");
+    private final FlashcardRequest flashcardRequest = new FlashcardRequest(
+            "0190b6f2-7c1a-7000-8000-000000000002", "What kind of star is the sun?", "Yellow dwarf");
+
+    @Setup
+    public void setUp() {
+        IdGenerator idGenerator = idGenerator(strategy);
+        categoryMapper = new CategoryMapperImpl(idGenerator);
+        studySessionMapper = new StudySessionMapperImpl(idGenerator);
+        flashcardMapper = new FlashcardMapperImpl(idGenerator);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Category categoryFrom() {
+        return categoryMapper.categoryFrom(categoryRequest);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Category categoryFromContended() {
+        return categoryMapper.categoryFrom(categoryRequest);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public StudySession studySessionFrom() {
+        return studySessionMapper.studySessionFrom(studySessionRequest);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public StudySession studySessionFromContended() {
+        return studySessionMapper.studySessionFrom(studySessionRequest);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Flashcard flashcardFrom() {
+        return flashcardMapper.flashcardFrom(flashcardRequest);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Flashcard flashcardFromContended() {
+        return flashcardMapper.flashcardFrom(flashcardRequest);
+    }
+
+}
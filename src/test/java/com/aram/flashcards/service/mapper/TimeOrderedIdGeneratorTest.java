@@ -0,0 +1,79 @@
+package com.aram.flashcards.service.mapper;
+
+import com.aram.flashcards.service.IdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedIdGeneratorTest {
+
+    @Test
+    void generatedIdIsCanonicalVersion7Uuid() {
+        IdGenerator idGenerator = new TimeOrderedIdGenerator();
+        String id = idGenerator.generateId();
+
+        assertEquals(36, id.length());
+        assertEquals(7, UUID.fromString(id).version());
+        assertEquals(2, UUID.fromString(id).variant());
+    }
+
+    @Test
+    void generatedIdStartsWithTimestamp() {
+        IdGenerator idGenerator = new TimeOrderedIdGenerator(() -> 0x0189ABCDEF01L);
+        String id = idGenerator.generateId();
+
+        assertTrue(id.startsWith("0189abcd-ef01-7"));
+    }
+
+    @Test
+    void generatedIdsAreStrictlyIncreasingWithinSameMillisecond() {
+        IdGenerator idGenerator = new TimeOrderedIdGenerator(() -> 1_000L);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(idGenerator.generateId());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        }
+    }
+
+    @Test
+    void generatedIdsAreStrictlyIncreasingWhenClockGoesBackwards() {
+        long[] now = {2_000L};
+        IdGenerator idGenerator = new TimeOrderedIdGenerator(() -> now[0]);
+        String first = idGenerator.generateId();
+        now[0] = 1_000L;
+        String second = idGenerator.generateId();
+
+        assertTrue(first.compareTo(second) < 0);
+    }
+
+    @Test
+    void generatedIdsAreUniqueAcrossThreads() throws InterruptedException {
+        IdGenerator idGenerator = new TimeOrderedIdGenerator();
+        var ids = Collections.synchronizedSet(new HashSet<String>());
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    ids.add(idGenerator.generateId());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, ids.size());
+    }
+
+}